@@ -36,6 +36,110 @@ public interface Acceptor {
      */
     boolean accepts(CharSequence sequence, int start, int length);
 
+    /**
+     * Create a {@link Matcher} for finding the occurrences selected by the given <code>policy</code> in many sequences without
+     * creating result containers for each of them.
+     *
+     * @see Matcher#occurrences(Acceptor, OverlapPolicy)
+     */
+    default Matcher createOccurrenceMatcher(OverlapPolicy policy) {
+        return Matcher.occurrences(this, policy);
+    }
+
+    /**
+     * Create a {@link Matcher} for finding the tokens selected by the given <code>policy</code> in many sequences without creating
+     * result containers for each of them.
+     *
+     * @see Matcher#tokens(Acceptor, OverlapPolicy)
+     */
+    default Matcher createTokenMatcher(OverlapPolicy policy) {
+        return Matcher.tokens(this, policy);
+    }
+
+    /**
+     * Performs the same operation as {@link #getAllMatches(CharSequence, int, int)}, but reports every match to the given
+     * <code>consumer</code> instead of creating Strings.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param start The index within the sequence at which matches must begin.
+     * @param length The maximum length to consider.
+     * @param consumer The {@link MatchConsumer} receiving the matches.
+     */
+    void forEachMatch(CharSequence sequence, int start, int length, MatchConsumer consumer);
+
+    /**
+     * Performs the same operation as {@link #getAllOccurrences(CharSequence, int, int)}, but reports every occurrence to the given
+     * <code>consumer</code> instead of creating {@link Token Tokens}.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param start The index within the sequence at which to start.
+     * @param length The length of the part to examine.
+     * @param consumer The {@link MatchConsumer} receiving the occurrences.
+     */
+    default void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        for (int i = start; i < start + length; i++) {
+            this.forEachMatch(sequence, i, start + length - i, consumer);
+        }
+    }
+
+    /**
+     * Performs the same operation as {@link #forEachOccurrence(CharSequence, int, int, MatchConsumer)}, but only reports the
+     * occurrences selected by the given <code>policy</code>.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param start The index within the sequence at which to start.
+     * @param length The length of the part to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping occurrences.
+     * @param consumer The {@link MatchConsumer} receiving the selected occurrences.
+     */
+    default void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+
+        for (int i = start; i < start + length; i = Math.max(i + 1, selection.complete())) {
+            this.forEachMatch(sequence, i, start + length - i, selection);
+        }
+    }
+
+    /**
+     * Performs the same operation as {@link #getAllTokens(CharSequence, int, int)}, but reports every token to the given
+     * <code>consumer</code> instead of creating {@link Token Tokens}.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param start The index within the sequence at which to start.
+     * @param length The length of the part to examine.
+     * @param consumer The {@link MatchConsumer} receiving the tokens.
+     */
+    void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer);
+
+    /**
+     * Performs the same operation as {@link #forEachToken(CharSequence, int, int, MatchConsumer)}, but only reports the tokens
+     * selected by the given <code>policy</code>.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param start The index within the sequence at which to start.
+     * @param length The length of the part to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping tokens.
+     * @param consumer The {@link MatchConsumer} receiving the selected tokens.
+     */
+    default void forEachToken(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        this.forEachToken(sequence, TokenBoundaries.create(sequence, start, length), policy, consumer);
+    }
+
+    /**
+     * Performs the same operation as {@link #forEachToken(CharSequence, int, int, OverlapPolicy, MatchConsumer)} on the part of
+     * <code>sequence</code> covered by the given <code>boundaries</code>, using these boundaries instead of determining them
+     * again.<br/>
+     * <br/>
+     * This allows the boundaries to be determined by a custom {@link BoundaryDetector} and to be shared by several
+     * implementations examining the same sequence.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param boundaries The {@link TokenBoundaries} of the part to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping tokens.
+     * @param consumer The {@link MatchConsumer} receiving the selected tokens.
+     */
+    void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer);
+
     /**
      * Find all accepted inputs at the beginning of given <code>charSequence</code>.<br/>
      * <br/>
@@ -57,6 +161,17 @@ public interface Acceptor {
      */
     String[] getAllMatches(CharSequence sequence, int start, int length);
 
+    /**
+     * Performs the same operation as {@link #getAllMatches(CharSequence, int, int)}, but appends the matches to the given
+     * <code>result</code> instead of creating Strings.
+     *
+     * @return The given <code>result</code>.
+     */
+    default TokenList getAllMatches(CharSequence sequence, int start, int length, TokenList result) {
+        this.forEachMatch(sequence, start, length, result);
+        return result;
+    }
+
     /**
      * Find all accepted inputs in the given <code>charSequence</code>.<br/>
      * <p>
@@ -77,6 +192,17 @@ public interface Acceptor {
      */
     List<Token> getAllOccurrences(CharSequence sequence, int start, int length);
 
+    /**
+     * Performs the same operation as {@link #getAllOccurrences(CharSequence, int, int)}, but appends the occurrences to the given
+     * <code>result</code> instead of creating {@link Token Tokens}.
+     *
+     * @return The given <code>result</code>.
+     */
+    default TokenList getAllOccurrences(CharSequence sequence, int start, int length, TokenList result) {
+        this.forEachOccurrence(sequence, start, length, result);
+        return result;
+    }
+
     /**
      * Find all accepted inputs that are tokens in the given <code>charSequence</code>.<br/>
      * <p>
@@ -99,6 +225,17 @@ public interface Acceptor {
      */
     List<Token> getAllTokens(CharSequence sequence, int start, int length);
 
+    /**
+     * Performs the same operation as {@link #getAllTokens(CharSequence, int, int)}, but appends the tokens to the given
+     * <code>result</code> instead of creating {@link Token Tokens}.
+     *
+     * @return The given <code>result</code>.
+     */
+    default TokenList getAllTokens(CharSequence sequence, int start, int length, TokenList result) {
+        this.forEachToken(sequence, start, length, result);
+        return result;
+    }
+
     /**
      * Find the longest accepted input at the beginning of given <code>charSequence</code>.<br/>
      * <br/>
@@ -153,4 +290,78 @@ public interface Acceptor {
      */
     List<Token> getLongestTokens(CharSequence sequence, int start, int length);
 
+    /**
+     * Determine an upper bound for the length of the accepted inputs, i.e. the maximum number of chars any match can span.<br/>
+     * <br/>
+     * The bound is computed once, when first requested. Implementations without a bound, e.g. views skipping chars of the examined
+     * sequence, return {@link Integer#MAX_VALUE}. Such implementations cannot be used with {@link StreamingMatcher} or
+     * <code>ParallelMatcher</code>, which rely on the bound for limiting the part of the sequence to examine.
+     *
+     * @return The maximum length or {@link Integer#MAX_VALUE} if the length of a match is not limited.
+     */
+    int getMaxInputLength();
+
+    /**
+     * Find all occurrences in the given <code>sequence</code> selected by the given <code>policy</code>.<br/>
+     * <br/>
+     * Unlike {@link #getLongestOccurrences(CharSequence)} the policy is applied while scanning the sequence, so occurrences which
+     * are not selected are never created.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping occurrences.
+     * @return The selected occurrences.
+     */
+    default List<Token> getOccurrences(CharSequence sequence, OverlapPolicy policy) {
+        return this.getOccurrences(sequence, 0, sequence.length(), policy);
+    }
+
+    /**
+     * Performs the same operation as {@link #getOccurrences(CharSequence, OverlapPolicy)} but on the part of <code>sequence</code>
+     * denoted by <code>start</code> and <code>length</code>.
+     *
+     * @see #getOccurrences(CharSequence, OverlapPolicy)
+     */
+    default List<Token> getOccurrences(CharSequence sequence, int start, int length, OverlapPolicy policy) {
+        TokenList tokenList = new TokenList();
+        this.forEachOccurrence(sequence, start, length, policy, tokenList);
+        return tokenList.toTokens(sequence);
+    }
+
+    /**
+     * Find all tokens in the given <code>sequence</code> selected by the given <code>policy</code>.<br/>
+     * <br/>
+     * Unlike {@link #getLongestTokens(CharSequence)} the policy is applied while scanning the sequence, so tokens which are not
+     * selected are never created.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping tokens.
+     * @return The selected tokens.
+     */
+    default List<Token> getTokens(CharSequence sequence, OverlapPolicy policy) {
+        return this.getTokens(sequence, 0, sequence.length(), policy);
+    }
+
+    /**
+     * Performs the same operation as {@link #getTokens(CharSequence, OverlapPolicy)} but on the part of <code>sequence</code>
+     * denoted by <code>start</code> and <code>length</code>.
+     *
+     * @see #getTokens(CharSequence, OverlapPolicy)
+     */
+    default List<Token> getTokens(CharSequence sequence, int start, int length, OverlapPolicy policy) {
+        TokenList tokenList = new TokenList();
+        this.forEachToken(sequence, start, length, policy, tokenList);
+        return tokenList.toTokens(sequence);
+    }
+
+    /**
+     * Performs the same operation as {@link #getTokens(CharSequence, OverlapPolicy)} on the part of <code>sequence</code> covered by
+     * the given <code>boundaries</code>.
+     *
+     * @see #forEachToken(CharSequence, TokenBoundaries, OverlapPolicy, MatchConsumer)
+     */
+    default List<Token> getTokens(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy) {
+        TokenList tokenList = new TokenList();
+        this.forEachToken(sequence, boundaries, policy, tokenList);
+        return tokenList.toTokens(sequence);
+    }
 }
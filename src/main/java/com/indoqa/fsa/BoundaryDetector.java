@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+/**
+ * Determines where tokens can start and end within a sequence.<br/>
+ * <br/>
+ * A detector is invoked once per analyzed part of a sequence and marks all boundaries in the given {@link TokenBoundaries}, which
+ * can then be used by any number of {@link Acceptor Acceptors} and {@link Transducer Transducers}. Implementations for domain
+ * specific rules (e.g. hyphens, apostrophes or scripts without spaces) can extend {@link WordBoundaryDetector} or implement this
+ * interface directly.
+ *
+ * @see TokenBoundaries#analyze(CharSequence, int, int, BoundaryDetector)
+ */
+@FunctionalInterface
+public interface BoundaryDetector {
+
+    /**
+     * Mark the token boundaries of the chars between <code>start</code> and <code>start + length</code>.<br/>
+     * <br/>
+     * The chars before <code>start</code> and after <code>start + length</code> may be inspected, e.g. for determining whether the
+     * part begins or ends within a word.
+     *
+     * @param sequence The {@link CharSequence} to analyze.
+     * @param start The index of the first char to analyze.
+     * @param length The number of chars to analyze.
+     * @param boundaries Receives the boundaries with {@link TokenBoundaries#setStart(int)} and {@link TokenBoundaries#setEnd(int)}.
+     */
+    void detect(CharSequence sequence, int start, int length, TokenBoundaries boundaries);
+}
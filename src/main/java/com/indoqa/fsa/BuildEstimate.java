@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+/**
+ * Predicts the resources required for building an {@link Acceptor} or {@link Transducer}, based on the running statistics kept by
+ * the builder.<br/>
+ * <br/>
+ * All sizes are conservative upper bounds: minimization usually produces considerably smaller results, but never larger ones.
+ */
+public class BuildEstimate {
+
+    private long inputCount;
+    private long nodeCount;
+    private long arcCount;
+    private long builderHeap;
+    private long peakHeap;
+    private long requiredLength;
+    private long fileSize;
+
+    public boolean fitsInto(long availableHeap) {
+        return this.peakHeap <= availableHeap;
+    }
+
+    public long getArcCount() {
+        return this.arcCount;
+    }
+
+    /**
+     * @return The number of bytes currently occupied by the builder.
+     */
+    public long getBuilderHeap() {
+        return this.builderHeap;
+    }
+
+    /**
+     * @return The number of bytes written by the builder's <code>write</code> method.
+     */
+    public long getFileSize() {
+        return this.fileSize;
+    }
+
+    public long getInputCount() {
+        return this.inputCount;
+    }
+
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * @return The number of bytes the builder will occupy at most while building, including the builder itself.
+     */
+    public long getPeakHeap() {
+        return this.peakHeap;
+    }
+
+    /**
+     * @return The length of the resulting data (in chars for character based implementations, in bytes otherwise).
+     */
+    public long getRequiredLength() {
+        return this.requiredLength;
+    }
+
+    public void setArcCount(long arcCount) {
+        this.arcCount = arcCount;
+    }
+
+    public void setBuilderHeap(long builderHeap) {
+        this.builderHeap = builderHeap;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public void setInputCount(long inputCount) {
+        this.inputCount = inputCount;
+    }
+
+    public void setNodeCount(long nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public void setPeakHeap(long peakHeap) {
+        this.peakHeap = peakHeap;
+    }
+
+    public void setRequiredLength(long requiredLength) {
+        this.requiredLength = requiredLength;
+    }
+
+    @Override
+    public String toString() {
+        return "inputs: " + this.inputCount + ", nodes: " + this.nodeCount + ", arcs: " + this.arcCount + ", builder heap: "
+            + this.builderHeap + ", peak heap: " + this.peakHeap + ", required length: " + this.requiredLength + ", file size: "
+            + this.fileSize;
+    }
+}
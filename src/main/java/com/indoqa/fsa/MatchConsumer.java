@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+/**
+ * Receives matches found by an {@link Acceptor} or {@link Transducer} without requiring any objects to be created.
+ */
+@FunctionalInterface
+public interface MatchConsumer {
+
+    /**
+     * Accept a match.
+     *
+     * @param start The index of the first char of the match (inclusive).
+     * @param end The index of the last char of the match (exclusive).
+     * @param nodeIndex An implementation specific index describing the match.<br/>
+     *            For {@link Transducer Transducers} this index can be passed to {@link Transducer#getOutput(int)}.
+     */
+    void accept(int start, int end, int nodeIndex);
+}
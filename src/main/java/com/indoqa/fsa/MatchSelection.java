@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+/**
+ * Applies an {@link OverlapPolicy} to the matches it receives and passes the selected matches on to another
+ * {@link MatchConsumer}.<br/>
+ * <br/>
+ * Matches must be received ordered by their start. All matches starting at the same position are collected and the preferred one
+ * is reported as soon as a match with a different start is received or {@link #complete()} is called.
+ */
+public class MatchSelection implements MatchConsumer {
+
+    private final OverlapPolicy policy;
+    private final MatchConsumer consumer;
+
+    private int limit = Integer.MIN_VALUE;
+
+    private boolean pending;
+    private int start;
+    private int end;
+    private int nodeIndex;
+    private int rank;
+
+    protected MatchSelection(OverlapPolicy policy, MatchConsumer consumer) {
+        super();
+
+        this.policy = policy;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void accept(int matchStart, int matchEnd, int matchNodeIndex) {
+        if (this.policy.isOverlapping()) {
+            this.consumer.accept(matchStart, matchEnd, matchNodeIndex);
+            return;
+        }
+
+        if (this.pending && matchStart != this.start) {
+            this.complete();
+        }
+
+        if (matchStart < this.limit) {
+            return;
+        }
+
+        int matchRank = this.policy.getRank(matchStart, matchEnd, matchNodeIndex);
+        if (this.pending && !this.policy.isPreferred(matchRank, matchEnd - matchStart, this.rank, this.end - this.start)) {
+            return;
+        }
+
+        this.pending = true;
+        this.start = matchStart;
+        this.end = matchEnd;
+        this.nodeIndex = matchNodeIndex;
+        this.rank = matchRank;
+    }
+
+    /**
+     * Report the preferred match among the matches received since the last call, if any.
+     *
+     * @return The index at which the next match may start at the earliest.
+     */
+    public int complete() {
+        if (this.pending) {
+            this.consumer.accept(this.start, this.end, this.nodeIndex);
+
+            this.limit = this.end;
+            this.pending = false;
+        }
+
+        return this.limit;
+    }
+}
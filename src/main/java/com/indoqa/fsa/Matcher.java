@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds occurrences or tokens in a sequence while reusing all result containers, similar to {@link java.util.regex.Matcher}.<br/>
+ * <br/>
+ * The matches of the current sequence are collected in a {@link TokenList} on the first request after {@link #reset(CharSequence)}
+ * and can then be iterated with {@link #find()} or retrieved with {@link #getMatches()} and {@link #getTokens()}. The
+ * {@link TokenBoundaries}, the {@link TokenList} and the {@link Token Tokens} are kept and reused for the next sequence, so that
+ * finding the matches of many sequences with the same {@link Matcher} does not create any objects per match once the containers have
+ * grown to the required size. Only requesting the text of a match, e.g. with {@link #getValue()} or {@link Token#getOriginal()},
+ * creates Strings.<br/>
+ * <br/>
+ * All results are only valid until the next call to {@link #reset(CharSequence)} and must not be retained. Instances are not
+ * thread-safe and are meant to be used by a single thread, e.g. one {@link Matcher} per worker thread.
+ */
+public class Matcher {
+
+    private final Scanner scanner;
+    private final Transducer transducer;
+
+    private final TokenBoundaries boundaries = new TokenBoundaries();
+    private final TokenList matches = new TokenList();
+    private final List<Token> tokens = new ArrayList<>();
+    private final List<Token> tokenPool = new ArrayList<>();
+
+    private CharSequence sequence;
+    private int start;
+    private int length;
+
+    private boolean scanned;
+    private int current = -1;
+
+    private Matcher(Scanner scanner, Transducer transducer) {
+        super();
+
+        this.scanner = scanner;
+        this.transducer = transducer;
+    }
+
+    /**
+     * Create a {@link Matcher} finding its matches with the given <code>scanner</code>. This allows implementations to keep their own
+     * scratch state in the <code>scanner</code>, which is then reused for all sequences examined by the {@link Matcher}.
+     *
+     * @param scanner The {@link Scanner} reporting the matches of a sequence.
+     * @param transducer The {@link Transducer} providing the outputs of the matches or <code>null</code> if the matched text should
+     *            be used as value.
+     */
+    public static Matcher create(Scanner scanner, Transducer transducer) {
+        return new Matcher(scanner, transducer);
+    }
+
+    /**
+     * Create a {@link Matcher} finding the same matches as
+     * {@link Acceptor#forEachOccurrence(CharSequence, int, int, OverlapPolicy, MatchConsumer)}.
+     */
+    public static Matcher occurrences(Acceptor acceptor, OverlapPolicy policy) {
+        return new Matcher((sequence, start, length, boundaries, consumer) -> {
+            acceptor.forEachOccurrence(sequence, start, length, policy, consumer);
+        }, null);
+    }
+
+    /**
+     * Create a {@link Matcher} finding the same matches as
+     * {@link Transducer#forEachOccurrence(CharSequence, int, int, OverlapPolicy, MatchConsumer)}.
+     */
+    public static Matcher occurrences(Transducer transducer, OverlapPolicy policy) {
+        return new Matcher((sequence, start, length, boundaries, consumer) -> {
+            transducer.forEachOccurrence(sequence, start, length, policy, consumer);
+        }, transducer);
+    }
+
+    /**
+     * Create a {@link Matcher} finding the same matches as
+     * {@link Acceptor#forEachToken(CharSequence, int, int, OverlapPolicy, MatchConsumer)}.
+     */
+    public static Matcher tokens(Acceptor acceptor, OverlapPolicy policy) {
+        return tokens(acceptor, policy, WordBoundaryDetector.getInstance());
+    }
+
+    /**
+     * Create a {@link Matcher} finding the same matches as
+     * {@link Acceptor#forEachToken(CharSequence, TokenBoundaries, OverlapPolicy, MatchConsumer)} with the boundaries determined by
+     * the given <code>detector</code>.
+     */
+    public static Matcher tokens(Acceptor acceptor, OverlapPolicy policy, BoundaryDetector detector) {
+        return new Matcher((sequence, start, length, boundaries, consumer) -> {
+            acceptor.forEachToken(sequence, boundaries.analyze(sequence, start, length, detector), policy, consumer);
+        }, null);
+    }
+
+    /**
+     * Create a {@link Matcher} finding the same matches as
+     * {@link Transducer#forEachToken(CharSequence, int, int, OverlapPolicy, MatchConsumer)}.
+     */
+    public static Matcher tokens(Transducer transducer, OverlapPolicy policy) {
+        return tokens(transducer, policy, WordBoundaryDetector.getInstance());
+    }
+
+    /**
+     * Create a {@link Matcher} finding the same matches as
+     * {@link Transducer#forEachToken(CharSequence, TokenBoundaries, OverlapPolicy, MatchConsumer)} with the boundaries determined
+     * by the given <code>detector</code>.
+     */
+    public static Matcher tokens(Transducer transducer, OverlapPolicy policy, BoundaryDetector detector) {
+        return new Matcher((sequence, start, length, boundaries, consumer) -> {
+            transducer.forEachToken(sequence, boundaries.analyze(sequence, start, length, detector), policy, consumer);
+        }, transducer);
+    }
+
+    /**
+     * Advance to the next match of the current sequence.
+     *
+     * @return <code>true</code> if there is another match, which is then available with {@link #getStart()}, {@link #getEnd()},
+     *         {@link #getNodeIndex()} and {@link #getValue()}.
+     */
+    public boolean find() {
+        this.scan();
+
+        if (this.current + 1 >= this.matches.size()) {
+            this.current = this.matches.size();
+            return false;
+        }
+
+        this.current++;
+        return true;
+    }
+
+    /**
+     * @return The end of the current match.
+     * @throws IllegalStateException If there is no current match.
+     */
+    public int getEnd() {
+        return this.matches.getEnd(this.getCurrent());
+    }
+
+    /**
+     * Get all matches of the current sequence.
+     *
+     * @return The matches in a {@link TokenList} owned by this {@link Matcher}.
+     */
+    public TokenList getMatches() {
+        this.scan();
+        return this.matches;
+    }
+
+    /**
+     * @return The node index of the current match, as reported to a {@link MatchConsumer}.
+     * @throws IllegalStateException If there is no current match.
+     */
+    public int getNodeIndex() {
+        return this.matches.getNodeIndex(this.getCurrent());
+    }
+
+    /**
+     * @return The start of the current match.
+     * @throws IllegalStateException If there is no current match.
+     */
+    public int getStart() {
+        return this.matches.getStart(this.getCurrent());
+    }
+
+    /**
+     * Get all matches of the current sequence as {@link Token Tokens}.<br/>
+     * <br/>
+     * The {@link Token Tokens} are taken from a pool owned by this {@link Matcher} and are reinitialized after the next call to
+     * {@link #reset(CharSequence)}. Their original and value are only materialized when requested.
+     *
+     * @return The matches in a {@link List} owned by this {@link Matcher}.
+     */
+    public List<Token> getTokens() {
+        this.scan();
+
+        if (!this.tokens.isEmpty() || this.matches.isEmpty()) {
+            return this.tokens;
+        }
+
+        for (int i = 0; i < this.matches.size(); i++) {
+            if (i == this.tokenPool.size()) {
+                this.tokenPool.add(new Token());
+            }
+
+            Token token = this.tokenPool.get(i);
+            token.initialize(this.sequence, this.matches.getStart(i), this.matches.getEnd(i), this.transducer,
+                this.matches.getNodeIndex(i));
+            this.tokens.add(token);
+        }
+
+        return this.tokens;
+    }
+
+    /**
+     * Get the value of the current match. Unlike the offsets, this creates a new {@link CharSequence} on every call for
+     * {@link Matcher Matchers} without {@link Transducer} and for {@link Transducer Transducers} creating their outputs on demand.
+     *
+     * @return The output of the current match if this {@link Matcher} was created for a {@link Transducer}, otherwise the matched
+     *         part of the sequence.
+     * @throws IllegalStateException If there is no current match.
+     */
+    public CharSequence getValue() {
+        int index = this.getCurrent();
+
+        if (this.transducer == null) {
+            return this.sequence.subSequence(this.matches.getStart(index), this.matches.getEnd(index));
+        }
+
+        return this.transducer.getOutput(this.matches.getNodeIndex(index));
+    }
+
+    /**
+     * Discard the matches of the previous sequence and use the given <code>sequence</code> for subsequent requests.
+     *
+     * @return This {@link Matcher}.
+     */
+    public Matcher reset(CharSequence newSequence) {
+        return this.reset(newSequence, 0, newSequence.length());
+    }
+
+    /**
+     * Performs the same operation as {@link #reset(CharSequence)}, but only the part of <code>sequence</code> denoted by
+     * <code>start</code> and <code>length</code> will be examined.
+     *
+     * @return This {@link Matcher}.
+     */
+    public Matcher reset(CharSequence newSequence, int newStart, int newLength) {
+        this.sequence = newSequence;
+        this.start = newStart;
+        this.length = newLength;
+
+        this.matches.clear();
+        this.tokens.clear();
+        this.scanned = false;
+        this.current = -1;
+
+        return this;
+    }
+
+    private int getCurrent() {
+        if (this.current < 0 || this.current >= this.matches.size()) {
+            throw new IllegalStateException("No match available");
+        }
+
+        return this.current;
+    }
+
+    private void scan() {
+        if (this.scanned) {
+            return;
+        }
+
+        if (this.sequence == null) {
+            throw new IllegalStateException("No sequence available. Call reset first.");
+        }
+
+        this.scanner.scan(this.sequence, this.start, this.length, this.boundaries, this.matches);
+        this.scanned = true;
+    }
+
+    /**
+     * Reports all matches in the given part of a sequence to a {@link MatchConsumer}.
+     */
+    @FunctionalInterface
+    public interface Scanner {
+
+        /**
+         * @param boundaries {@link TokenBoundaries} owned by the {@link Matcher}, which can be used for determining the token
+         *            boundaries of the sequence without creating new {@link TokenBoundaries}.
+         */
+        void scan(CharSequence sequence, int start, int length, TokenBoundaries boundaries, MatchConsumer consumer);
+    }
+}
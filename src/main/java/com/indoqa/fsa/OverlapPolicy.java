@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+/**
+ * Determines which matches are reported when matches overlap.<br/>
+ * <br/>
+ * Except for {@link #allOverlapping()} the sequence is scanned from left to right: at the leftmost position with at least one
+ * match, the preferred match is reported and scanning continues at its end. Matches starting inside a reported match are never
+ * reported and implementations are free to skip those positions altogether.
+ */
+public class OverlapPolicy {
+
+    private static final OverlapPolicy ALL_OVERLAPPING = new OverlapPolicy(Type.ALL_OVERLAPPING, null);
+    private static final OverlapPolicy LEFTMOST_FIRST = new OverlapPolicy(Type.LEFTMOST_FIRST, null);
+    private static final OverlapPolicy LEFTMOST_LONGEST = new OverlapPolicy(Type.LEFTMOST_LONGEST, null);
+
+    private final Type type;
+    private final MatchRanking ranking;
+
+    private OverlapPolicy(Type type, MatchRanking ranking) {
+        super();
+
+        this.type = type;
+        this.ranking = ranking;
+    }
+
+    /**
+     * @return A policy reporting all matches, including overlapping ones.
+     */
+    public static OverlapPolicy allOverlapping() {
+        return ALL_OVERLAPPING;
+    }
+
+    /**
+     * @return A policy reporting the first (i.e. shortest) match at the leftmost position.
+     */
+    public static OverlapPolicy leftmostFirst() {
+        return LEFTMOST_FIRST;
+    }
+
+    /**
+     * @return A policy reporting the longest match at the leftmost position.
+     */
+    public static OverlapPolicy leftmostLongest() {
+        return LEFTMOST_LONGEST;
+    }
+
+    /**
+     * Create a policy reporting the match with the highest rank at the leftmost position. Matches with the same rank are selected
+     * by their length, preferring the longer one.
+     *
+     * @param ranking The {@link MatchRanking} to determine the rank of a match.
+     * @return The policy.
+     */
+    public static OverlapPolicy priority(MatchRanking ranking) {
+        if (ranking == null) {
+            throw new IllegalArgumentException("The ranking must not be null.");
+        }
+
+        return new OverlapPolicy(Type.PRIORITY, ranking);
+    }
+
+    /**
+     * Create a {@link MatchSelection} applying this policy to the matches it receives and passing the selected matches on to the
+     * given <code>consumer</code>.
+     */
+    public MatchSelection createSelection(MatchConsumer consumer) {
+        return new MatchSelection(this, consumer);
+    }
+
+    public boolean isOverlapping() {
+        return this.type == Type.ALL_OVERLAPPING;
+    }
+
+    protected int getRank(int start, int end, int nodeIndex) {
+        if (this.ranking == null) {
+            return 0;
+        }
+
+        return this.ranking.getRank(start, end, nodeIndex);
+    }
+
+    protected boolean isPreferred(int rank, int length, int otherRank, int otherLength) {
+        if (rank != otherRank) {
+            return rank > otherRank;
+        }
+
+        if (this.type == Type.LEFTMOST_FIRST) {
+            return length < otherLength;
+        }
+
+        return length > otherLength;
+    }
+
+    private enum Type {
+        ALL_OVERLAPPING, LEFTMOST_FIRST, LEFTMOST_LONGEST, PRIORITY
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+/**
+ * Receives matches found by a {@link StreamingMatcher}, with offsets relative to the beginning of the stream.
+ */
+@FunctionalInterface
+public interface StreamingMatchConsumer {
+
+    /**
+     * Accept a match.
+     *
+     * @param start The offset of the first char of the match within the stream (inclusive).
+     * @param end The offset of the last char of the match within the stream (exclusive).
+     * @param nodeIndex An implementation specific index describing the match, see {@link MatchConsumer#accept(int, int, int)}.
+     */
+    void accept(long start, long end, int nodeIndex);
+}
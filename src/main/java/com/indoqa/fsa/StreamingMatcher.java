@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * Finds occurrences or tokens in a stream of chars that is provided in chunks, e.g. from a {@link Reader}.<br/>
+ * <br/>
+ * Only the chars that might still be part of a match are kept between chunks, i.e. at most
+ * {@link Acceptor#getMaxInputLength()} + 1 chars in addition to the current chunk. The memory required is therefore independent of
+ * the total length of the stream.<br/>
+ * <br/>
+ * Matches are reported ordered by their start, with offsets relative to the beginning of the stream. The results are the same as
+ * finding the occurrences or tokens in the concatenation of all chunks.<br/>
+ * <br/>
+ * The {@link Acceptor} or {@link Transducer} must have a bounded {@link Acceptor#getMaxInputLength() maximum input length}, otherwise
+ * the whole stream would have to be kept.<br/>
+ * <br/>
+ * Instances are not thread-safe.
+ */
+public class StreamingMatcher {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final Scanner scanner;
+    private final int maxInputLength;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private long bufferOffset;
+    private int scanStart;
+
+    private StreamingMatcher(Scanner scanner, int maxInputLength) {
+        super();
+
+        if (maxInputLength == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Streaming requires a bounded maximum input length.");
+        }
+
+        this.scanner = scanner;
+        this.maxInputLength = maxInputLength;
+    }
+
+    /**
+     * Create a {@link StreamingMatcher} finding the same matches as
+     * {@link Acceptor#forEachOccurrence(CharSequence, int, int, MatchConsumer)}.
+     */
+    public static StreamingMatcher occurrences(Acceptor acceptor) {
+        return new StreamingMatcher(acceptor::forEachOccurrence, acceptor.getMaxInputLength());
+    }
+
+    /**
+     * Create a {@link StreamingMatcher} finding the same matches as
+     * {@link Transducer#forEachOccurrence(CharSequence, int, int, MatchConsumer)}.
+     */
+    public static StreamingMatcher occurrences(Transducer transducer) {
+        return new StreamingMatcher(transducer::forEachOccurrence, transducer.getMaxInputLength());
+    }
+
+    /**
+     * Create a {@link StreamingMatcher} finding the same matches as
+     * {@link Acceptor#forEachToken(CharSequence, int, int, MatchConsumer)}.
+     */
+    public static StreamingMatcher tokens(Acceptor acceptor) {
+        return new StreamingMatcher(acceptor::forEachToken, acceptor.getMaxInputLength());
+    }
+
+    /**
+     * Create a {@link StreamingMatcher} finding the same matches as
+     * {@link Transducer#forEachToken(CharSequence, int, int, MatchConsumer)}.
+     */
+    public static StreamingMatcher tokens(Transducer transducer) {
+        return new StreamingMatcher(transducer::forEachToken, transducer.getMaxInputLength());
+    }
+
+    /**
+     * Process the next chunk of the stream.<br/>
+     * <br/>
+     * All matches that cannot be affected by subsequent chunks are reported immediately, the others are reported by subsequent calls
+     * or by {@link #finish(StreamingMatchConsumer)}.
+     *
+     * @param chunk The next chunk.
+     * @param consumer The {@link StreamingMatchConsumer} receiving the matches.
+     */
+    public void append(CharSequence chunk, StreamingMatchConsumer consumer) {
+        this.buffer.append(chunk);
+
+        // a match starting before scanEnd ends before the last char, which is required for detecting token ends
+        int scanEnd = this.buffer.length() - this.maxInputLength - 1;
+        if (scanEnd <= this.scanStart) {
+            return;
+        }
+
+        this.scan(scanEnd, consumer);
+
+        // keep the last char before the next match for detecting token starts
+        int discarded = scanEnd - 1;
+        this.buffer.delete(0, discarded);
+        this.bufferOffset += discarded;
+        this.scanStart -= discarded;
+    }
+
+    /**
+     * Report all remaining matches and reset this {@link StreamingMatcher}, so that it can process another stream.
+     *
+     * @param consumer The {@link StreamingMatchConsumer} receiving the matches.
+     */
+    public void finish(StreamingMatchConsumer consumer) {
+        this.scan(this.buffer.length(), consumer);
+        this.reset();
+    }
+
+    /**
+     * Get the text of a match. This is only possible while the match is reported to a {@link StreamingMatchConsumer}, because
+     * the text is not retained afterwards.
+     *
+     * @param start The start of the match within the stream.
+     * @param end The end of the match within the stream.
+     * @return The text of the match.
+     */
+    public String getText(long start, long end) {
+        return this.buffer.substring((int) (start - this.bufferOffset), (int) (end - this.bufferOffset));
+    }
+
+    /**
+     * Process all chars provided by the given <code>reader</code>, but does not close it.
+     *
+     * @param reader The {@link Reader} to read from.
+     * @param consumer The {@link StreamingMatchConsumer} receiving the matches.
+     * @throws IOException If reading fails.
+     */
+    public void match(Reader reader, StreamingMatchConsumer consumer) throws IOException {
+        CharBuffer chunk = CharBuffer.allocate(CHUNK_SIZE);
+
+        while (reader.read(chunk) != -1) {
+            chunk.flip();
+            this.append(chunk, consumer);
+            chunk.clear();
+        }
+
+        this.finish(consumer);
+    }
+
+    /**
+     * Discard all buffered chars without reporting any further matches.
+     */
+    public void reset() {
+        this.buffer.setLength(0);
+        this.bufferOffset = 0;
+        this.scanStart = 0;
+    }
+
+    private void scan(int scanEnd, StreamingMatchConsumer consumer) {
+        // only matches starting before scanEnd are complete, all chars before scanStart have been examined already
+        int end = Math.min(scanEnd + this.maxInputLength, this.buffer.length());
+
+        this.scanner.scan(this.buffer, this.scanStart, end - this.scanStart, (matchStart, matchEnd, nodeIndex) -> {
+            // later matches are reported again by the next scan, together with the matches extending into the next chunk
+            if (matchStart < scanEnd) {
+                consumer.accept(this.bufferOffset + matchStart, this.bufferOffset + matchEnd, nodeIndex);
+            }
+        });
+
+        this.scanStart = scanEnd;
+    }
+
+    @FunctionalInterface
+    private interface Scanner {
+
+        void scan(CharSequence sequence, int start, int length, MatchConsumer consumer);
+    }
+}
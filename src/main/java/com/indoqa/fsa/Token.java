@@ -16,6 +16,12 @@
  */
 package com.indoqa.fsa;
 
+/**
+ * A match within a sequence.<br/>
+ * <br/>
+ * Tokens created from a source sequence only materialize their original and value when they are requested. The source sequence must
+ * therefore not be modified as long as such tokens are in use.
+ */
 public class Token {
 
     private int start;
@@ -23,6 +29,39 @@ public class Token {
     private String value;
     private String original;
 
+    private CharSequence source;
+    private Transducer transducer;
+    private int outputIndex;
+
+    /**
+     * Create a token for the chars between <code>start</code> and <code>end</code> of the given <code>source</code>, using them as
+     * original and value.
+     */
+    public static Token create(CharSequence source, int start, int end) {
+        Token token = new Token();
+
+        token.start = start;
+        token.end = end;
+        token.source = source;
+
+        return token;
+    }
+
+    /**
+     * Create a token for the chars between <code>start</code> and <code>end</code> of the given <code>source</code>, using the output
+     * of the <code>transducer</code> for <code>outputIndex</code> as value.
+     *
+     * @see Transducer#getOutput(int)
+     */
+    public static Token create(CharSequence source, int start, int end, Transducer transducer, int outputIndex) {
+        Token token = create(source, start, end);
+
+        token.transducer = transducer;
+        token.outputIndex = outputIndex;
+
+        return token;
+    }
+
     public static Token create(int start, String value) {
         Token token = new Token();
 
@@ -55,6 +94,10 @@ public class Token {
     }
 
     public String getOriginal() {
+        if (this.original == null && this.source != null) {
+            this.original = this.source.subSequence(this.start, this.end).toString();
+        }
+
         return this.original;
     }
 
@@ -63,6 +106,10 @@ public class Token {
     }
 
     public String getValue() {
+        if (this.value == null && this.source != null) {
+            this.value = this.transducer == null ? this.getOriginal() : this.transducer.getOutput(this.outputIndex).toString();
+        }
+
         return this.value;
     }
 
@@ -71,6 +118,7 @@ public class Token {
     }
 
     public void setEnd(int end) {
+        this.materialize();
         this.end = end;
     }
 
@@ -79,6 +127,7 @@ public class Token {
     }
 
     public void setStart(int start) {
+        this.materialize();
         this.start = start;
     }
 
@@ -88,6 +137,38 @@ public class Token {
 
     @Override
     public String toString() {
-        return this.value + " [" + this.start + ", " + this.end + "]";
+        return this.getValue() + " [" + this.start + ", " + this.end + "]";
+    }
+
+    /**
+     * Reuse this token for the chars between <code>start</code> and <code>end</code> of the given <code>source</code>, discarding
+     * its previous original and value.
+     *
+     * @see #create(CharSequence, int, int, Transducer, int)
+     */
+    void initialize(CharSequence newSource, int newStart, int newEnd, Transducer newTransducer, int newOutputIndex) {
+        this.source = newSource;
+        this.start = newStart;
+        this.end = newEnd;
+        this.transducer = newTransducer;
+        this.outputIndex = newOutputIndex;
+
+        this.original = null;
+        this.value = null;
+    }
+
+    /**
+     * Resolve the original and value before the boundaries are changed and release the source.
+     */
+    private void materialize() {
+        if (this.source == null) {
+            return;
+        }
+
+        this.getOriginal();
+        this.getValue();
+
+        this.source = null;
+        this.transducer = null;
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+import java.util.Arrays;
+
+/**
+ * The positions within a part of a sequence where tokens can start and end.<br/>
+ * <br/>
+ * The boundaries are determined once by a {@link BoundaryDetector} and kept in two bitmaps, so that finding tokens does not need to
+ * classify any char more than once. Instances can be reused for different sequences and shared by several
+ * {@link Acceptor Acceptors} and {@link Transducer Transducers} analyzing the same part of a sequence.
+ */
+public class TokenBoundaries {
+
+    private long[] starts = new long[1];
+    private long[] ends = new long[1];
+
+    private int start;
+    private int length;
+
+    /**
+     * Determine the token boundaries of the given part of the <code>sequence</code> with the {@link WordBoundaryDetector}.
+     */
+    public static TokenBoundaries create(CharSequence sequence, int start, int length) {
+        return create(sequence, start, length, WordBoundaryDetector.getInstance());
+    }
+
+    public static TokenBoundaries create(CharSequence sequence, int start, int length, BoundaryDetector detector) {
+        TokenBoundaries result = new TokenBoundaries();
+        result.analyze(sequence, start, length, detector);
+        return result;
+    }
+
+    private static boolean isSet(long[] bits, int offset) {
+        return (bits[offset >> 6] & 1L << offset) != 0;
+    }
+
+    /**
+     * Replace the current boundaries with the boundaries of the given part of the <code>sequence</code>, as determined by the given
+     * <code>detector</code>.
+     *
+     * @return This {@link TokenBoundaries}.
+     */
+    public TokenBoundaries analyze(CharSequence sequence, int start, int length, BoundaryDetector detector) {
+        this.start = start;
+        this.length = length;
+
+        // one bit for every index from start to start + length (inclusive)
+        int words = (length >> 6) + 1;
+        if (this.starts.length < words) {
+            this.starts = new long[words];
+            this.ends = new long[words];
+        } else {
+            Arrays.fill(this.starts, 0, words, 0L);
+            Arrays.fill(this.ends, 0, words, 0L);
+        }
+
+        detector.detect(sequence, start, length, this);
+        return this;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    /**
+     * @return <code>true</code> if the given index is covered by these boundaries, i.e. it is between <code>start</code> and
+     *         <code>start + length</code> (inclusive).
+     */
+    public boolean isCovering(int index) {
+        return index >= this.start && index <= this.start + this.length;
+    }
+
+    /**
+     * @param index The index after the last char of a token.
+     * @return <code>true</code> if a token can end at the given <code>index</code>.
+     */
+    public boolean isEnd(int index) {
+        return isSet(this.ends, index - this.start);
+    }
+
+    /**
+     * @param index The index of the first char of a token.
+     * @return <code>true</code> if a token can start at the given <code>index</code>.
+     */
+    public boolean isStart(int index) {
+        return isSet(this.starts, index - this.start);
+    }
+
+    public void setEnd(int index) {
+        this.set(this.ends, index);
+    }
+
+    public void setStart(int index) {
+        this.set(this.starts, index);
+    }
+
+    private void set(long[] bits, int index) {
+        if (!this.isCovering(index)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Start: " + this.start + ", Length: " + this.length);
+        }
+
+        int offset = index - this.start;
+        bits[offset >> 6] |= 1L << offset;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable list of matches, stored as primitive arrays of starts, ends and node indexes.<br/>
+ * <br/>
+ * Unlike a list of {@link Token Tokens} this does not require any objects per match, and once its capacity has grown to the
+ * number of matches in a typical sequence it can be {@link #clear() cleared} and filled again without any allocations.<br/>
+ * <br/>
+ * Instances are not thread-safe, batch processing should use one instance per thread.
+ */
+public class TokenList implements MatchConsumer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] starts;
+    private int[] ends;
+    private int[] nodeIndexes;
+    private int size;
+
+    public TokenList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TokenList(int capacity) {
+        super();
+
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.nodeIndexes = new int[capacity];
+    }
+
+    @Override
+    public void accept(int start, int end, int nodeIndex) {
+        this.add(start, end, nodeIndex);
+    }
+
+    public void add(int start, int end, int nodeIndex) {
+        if (this.size == this.starts.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, this.size * 2);
+
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.nodeIndexes = Arrays.copyOf(this.nodeIndexes, capacity);
+        }
+
+        this.starts[this.size] = start;
+        this.ends[this.size] = end;
+        this.nodeIndexes[this.size] = nodeIndex;
+        this.size++;
+    }
+
+    /**
+     * Append all matches of the given <code>tokens</code>, keeping their order.
+     */
+    public void addAll(TokenList tokens) {
+        for (int i = 0; i < tokens.size; i++) {
+            this.add(tokens.starts[i], tokens.ends[i], tokens.nodeIndexes[i]);
+        }
+    }
+
+    /**
+     * Remove all matches, but keep the allocated capacity.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    public int getEnd(int index) {
+        this.checkIndex(index);
+        return this.ends[index];
+    }
+
+    public int getLength(int index) {
+        this.checkIndex(index);
+        return this.ends[index] - this.starts[index];
+    }
+
+    /**
+     * @return The implementation specific node index of the match, see {@link MatchConsumer#accept(int, int, int)}.
+     */
+    public int getNodeIndex(int index) {
+        this.checkIndex(index);
+        return this.nodeIndexes[index];
+    }
+
+    public int getStart(int index) {
+        this.checkIndex(index);
+        return this.starts[index];
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Create {@link Token Tokens} for all matches, using the matched part of the <code>source</code> as value.
+     *
+     * @param source The sequence in which the matches were found.
+     * @return The tokens, in the same order as the matches.
+     */
+    public List<Token> toTokens(CharSequence source) {
+        List<Token> result = new ArrayList<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            result.add(Token.create(source, this.starts[i], this.ends[i]));
+        }
+
+        return result;
+    }
+
+    /**
+     * Create {@link Token Tokens} for all matches, using the output of the <code>transducer</code> as value.
+     *
+     * @param source The sequence in which the matches were found.
+     * @param transducer The {@link Transducer} that found the matches.
+     * @return The tokens, in the same order as the matches.
+     */
+    public List<Token> toTokens(CharSequence source, Transducer transducer) {
+        List<Token> result = new ArrayList<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            result.add(Token.create(source, this.starts[i], this.ends[i], transducer, this.nodeIndexes[i]));
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("[");
+
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) {
+                stringBuilder.append(", ");
+            }
+
+            stringBuilder.append('[').append(this.starts[i]).append(", ").append(this.ends[i]).append(']');
+        }
+
+        return stringBuilder.append(']').toString();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+}
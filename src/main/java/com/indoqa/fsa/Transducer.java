@@ -21,6 +21,26 @@ import java.util.List;
 
 public interface Transducer {
 
+    /**
+     * Create a {@link Matcher} for finding the occurrences selected by the given <code>policy</code> in many sequences without
+     * creating result containers for each of them.
+     *
+     * @see Matcher#occurrences(Transducer, OverlapPolicy)
+     */
+    default Matcher createOccurrenceMatcher(OverlapPolicy policy) {
+        return Matcher.occurrences(this, policy);
+    }
+
+    /**
+     * Create a {@link Matcher} for finding the tokens selected by the given <code>policy</code> in many sequences without creating
+     * result containers for each of them.
+     *
+     * @see Matcher#tokens(Transducer, OverlapPolicy)
+     */
+    default Matcher createTokenMatcher(OverlapPolicy policy) {
+        return Matcher.tokens(this, policy);
+    }
+
     /**
      * Find all transducible matches starting at the beginning of the given <code>sequence</code>.<br/>
      * <br/>
@@ -52,6 +72,103 @@ public interface Transducer {
 
     List<Token> getAllMatches(CharSequence sequence, int start, int length, List<Token> result);
 
+    /**
+     * Performs the same operation as {@link #getAllMatches(CharSequence, int, int)}, but appends the matches to the given
+     * <code>result</code> instead of creating {@link Token Tokens}.
+     *
+     * @return The given <code>result</code>.
+     */
+    default TokenList getAllMatches(CharSequence sequence, int start, int length, TokenList result) {
+        this.forEachMatch(sequence, start, length, result);
+        return result;
+    }
+
+    /**
+     * Performs the same operation as {@link #getAllMatches(CharSequence, int, int)}, but reports every match to the given
+     * <code>consumer</code> instead of creating {@link Token Tokens}.<br/>
+     * <br/>
+     * The transduction of a match can be obtained by passing its <code>nodeIndex</code> to {@link #getOutput(int)}.
+     *
+     * @param sequence The sequence in which to find matches.
+     * @param start The index within the sequence at which matches must begin.
+     * @param length The maximum length to consider.
+     * @param consumer The {@link MatchConsumer} receiving the matches.
+     */
+    void forEachMatch(CharSequence sequence, int start, int length, MatchConsumer consumer);
+
+    /**
+     * Performs the same operation as {@link #getAllOccurrences(CharSequence, int, int)}, but reports every occurrence to the given
+     * <code>consumer</code> instead of creating {@link Token Tokens}.
+     *
+     * @param sequence The sequence in which to find tokens.
+     * @param start The index within the sequence at which to start.
+     * @param length The length of the part to examine.
+     * @param consumer The {@link MatchConsumer} receiving the occurrences.
+     */
+    default void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        for (int i = start; i < start + length; i++) {
+            this.forEachMatch(sequence, i, start + length - i, consumer);
+        }
+    }
+
+    /**
+     * Performs the same operation as {@link #forEachOccurrence(CharSequence, int, int, MatchConsumer)}, but only reports the
+     * occurrences selected by the given <code>policy</code>.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param start The index within the sequence at which to start.
+     * @param length The length of the part to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping occurrences.
+     * @param consumer The {@link MatchConsumer} receiving the selected occurrences.
+     */
+    default void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+
+        for (int i = start; i < start + length; i = Math.max(i + 1, selection.complete())) {
+            this.forEachMatch(sequence, i, start + length - i, selection);
+        }
+    }
+
+    /**
+     * Performs the same operation as {@link #getAllTokens(CharSequence, int, int)}, but reports every token to the given
+     * <code>consumer</code> instead of creating {@link Token Tokens}.
+     *
+     * @param sequence The sequence in which to find tokens.
+     * @param start The index within the sequence at which to start.
+     * @param length The length of the part to examine.
+     * @param consumer The {@link MatchConsumer} receiving the tokens.
+     */
+    void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer);
+
+    /**
+     * Performs the same operation as {@link #forEachToken(CharSequence, int, int, MatchConsumer)}, but only reports the tokens
+     * selected by the given <code>policy</code>.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param start The index within the sequence at which to start.
+     * @param length The length of the part to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping tokens.
+     * @param consumer The {@link MatchConsumer} receiving the selected tokens.
+     */
+    default void forEachToken(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        this.forEachToken(sequence, TokenBoundaries.create(sequence, start, length), policy, consumer);
+    }
+
+    /**
+     * Performs the same operation as {@link #forEachToken(CharSequence, int, int, OverlapPolicy, MatchConsumer)} on the part of
+     * <code>sequence</code> covered by the given <code>boundaries</code>, using these boundaries instead of determining them
+     * again.<br/>
+     * <br/>
+     * This allows the boundaries to be determined by a custom {@link BoundaryDetector} and to be shared by several
+     * implementations examining the same sequence.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param boundaries The {@link TokenBoundaries} of the part to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping tokens.
+     * @param consumer The {@link MatchConsumer} receiving the selected tokens.
+     */
+    void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer);
+
     /**
      * Find all transducible tokens anywhere in the given <code>sequence</code>.<br/>
      * <br/>
@@ -80,13 +197,24 @@ public interface Transducer {
     default List<Token> getAllOccurrences(CharSequence sequence, int start, int length) {
         List<Token> result = new ArrayList<>();
 
-        for (int i = start; i < start + length; i++) {
-            result.addAll(this.getAllMatches(sequence, i, length - i));
-        }
+        this.forEachOccurrence(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd, this, nodeIndex));
+        });
 
         return result;
     }
 
+    /**
+     * Performs the same operation as {@link #getAllOccurrences(CharSequence, int, int)}, but appends the occurrences to the given
+     * <code>result</code> instead of creating {@link Token Tokens}.
+     *
+     * @return The given <code>result</code>.
+     */
+    default TokenList getAllOccurrences(CharSequence sequence, int start, int length, TokenList result) {
+        this.forEachOccurrence(sequence, start, length, result);
+        return result;
+    }
+
     /**
      * Find all transducible tokens anywhere in the given <code>sequence</code>.<br/>
      * <br/>
@@ -114,6 +242,17 @@ public interface Transducer {
      */
     List<Token> getAllTokens(CharSequence sequence, int start, int length);
 
+    /**
+     * Performs the same operation as {@link #getAllTokens(CharSequence, int, int)}, but appends the tokens to the given
+     * <code>result</code> instead of creating {@link Token Tokens}.
+     *
+     * @return The given <code>result</code>.
+     */
+    default TokenList getAllTokens(CharSequence sequence, int start, int length, TokenList result) {
+        this.forEachToken(sequence, start, length, result);
+        return result;
+    }
+
     /**
      * Find the longest transducible match from the beginning of the given <code>sequence</code>. <br/>
      * <br/>
@@ -126,6 +265,15 @@ public interface Transducer {
      */
     Token getLongestMatch(CharSequence sequence);
 
+    /**
+     * Return the transduction of a match reported to a {@link MatchConsumer}.
+     *
+     * @param nodeIndex The <code>nodeIndex</code> reported to the {@link MatchConsumer}.
+     *
+     * @return The transduction.
+     */
+    CharSequence getOutput(int nodeIndex);
+
     /**
      * Find all transducible tokens anywhere in the given <code>sequence</code>.<br/>
      * <br/>
@@ -150,6 +298,81 @@ public interface Transducer {
      */
     List<Token> getLongestTokens(CharSequence sequence);
 
+    /**
+     * Determine an upper bound for the length of the transducible inputs, i.e. the maximum number of chars any match can span.<br/>
+     * <br/>
+     * The bound is computed once, when first requested. Implementations without a bound, e.g. views skipping chars of the examined
+     * sequence, return {@link Integer#MAX_VALUE}. Such implementations cannot be used with {@link StreamingMatcher} or
+     * <code>ParallelMatcher</code>, which rely on the bound for limiting the part of the sequence to examine.
+     *
+     * @return The maximum length or {@link Integer#MAX_VALUE} if the length of a match is not limited.
+     */
+    int getMaxInputLength();
+
+    /**
+     * Find all occurrences in the given <code>sequence</code> selected by the given <code>policy</code>.<br/>
+     * <br/>
+     * Unlike {@link #getLongestOccurrences(CharSequence)} the policy is applied while scanning the sequence, so occurrences which
+     * are not selected are never created.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping occurrences.
+     * @return The selected occurrences.
+     */
+    default List<Token> getOccurrences(CharSequence sequence, OverlapPolicy policy) {
+        return this.getOccurrences(sequence, 0, sequence.length(), policy);
+    }
+
+    /**
+     * Performs the same operation as {@link #getOccurrences(CharSequence, OverlapPolicy)} but on the part of <code>sequence</code>
+     * denoted by <code>start</code> and <code>length</code>.
+     *
+     * @see #getOccurrences(CharSequence, OverlapPolicy)
+     */
+    default List<Token> getOccurrences(CharSequence sequence, int start, int length, OverlapPolicy policy) {
+        TokenList tokenList = new TokenList();
+        this.forEachOccurrence(sequence, start, length, policy, tokenList);
+        return tokenList.toTokens(sequence, this);
+    }
+
+    /**
+     * Find all tokens in the given <code>sequence</code> selected by the given <code>policy</code>.<br/>
+     * <br/>
+     * Unlike {@link #getLongestTokens(CharSequence)} the policy is applied while scanning the sequence, so tokens which are not
+     * selected are never created.
+     *
+     * @param sequence The {@link CharSequence} to examine.
+     * @param policy The {@link OverlapPolicy} to apply to overlapping tokens.
+     * @return The selected tokens.
+     */
+    default List<Token> getTokens(CharSequence sequence, OverlapPolicy policy) {
+        return this.getTokens(sequence, 0, sequence.length(), policy);
+    }
+
+    /**
+     * Performs the same operation as {@link #getTokens(CharSequence, OverlapPolicy)} but on the part of <code>sequence</code>
+     * denoted by <code>start</code> and <code>length</code>.
+     *
+     * @see #getTokens(CharSequence, OverlapPolicy)
+     */
+    default List<Token> getTokens(CharSequence sequence, int start, int length, OverlapPolicy policy) {
+        TokenList tokenList = new TokenList();
+        this.forEachToken(sequence, start, length, policy, tokenList);
+        return tokenList.toTokens(sequence, this);
+    }
+
+    /**
+     * Performs the same operation as {@link #getTokens(CharSequence, OverlapPolicy)} on the part of <code>sequence</code> covered by
+     * the given <code>boundaries</code>.
+     *
+     * @see #forEachToken(CharSequence, TokenBoundaries, OverlapPolicy, MatchConsumer)
+     */
+    default List<Token> getTokens(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy) {
+        TokenList tokenList = new TokenList();
+        this.forEachToken(sequence, boundaries, policy, tokenList);
+        return tokenList.toTokens(sequence, this);
+    }
+
     /**
      * Return the transduction of the complete given <code>sequence</code>.<br/>
      * <br/>
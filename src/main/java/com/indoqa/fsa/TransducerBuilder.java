@@ -25,6 +25,17 @@ public interface TransducerBuilder {
 
     Transducer build();
 
+    /**
+     * Predict the resources required for building the inputs added so far.<br/>
+     * <br/>
+     * Implementations that keep no running statistics return an empty estimate with all values set to <code>0</code>.
+     *
+     * @return The {@link BuildEstimate}. Never <code>null</code>.
+     */
+    default BuildEstimate estimate() {
+        return new BuildEstimate();
+    }
+
     void write(OutputStream outputStream) throws IOException;
 
 }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa;
+
+/**
+ * The default {@link BoundaryDetector}, considering letters and digits as word chars.<br/>
+ * <br/>
+ * A token can start at every word char that is not preceded by a word char and end before every char that is not a word char, as
+ * well as at the beginning and end of the whole sequence. Word chars are looked up in a table for ASCII and determined with
+ * {@link Character#isAlphabetic(int)} and {@link Character#isDigit(char)} otherwise.
+ */
+public class WordBoundaryDetector implements BoundaryDetector {
+
+    private static final WordBoundaryDetector INSTANCE = new WordBoundaryDetector();
+
+    private static final boolean[] ASCII_WORD_CHARS = new boolean[128];
+    static {
+        for (char c = 0; c < ASCII_WORD_CHARS.length; c++) {
+            ASCII_WORD_CHARS[c] = Character.isAlphabetic(c) || Character.isDigit(c);
+        }
+    }
+
+    protected WordBoundaryDetector() {
+        super();
+    }
+
+    public static WordBoundaryDetector getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void detect(CharSequence sequence, int start, int length, TokenBoundaries boundaries) {
+        int end = start + length;
+        boolean previousWordPart = start > 0 && this.isWordPart(sequence, start - 1);
+
+        for (int i = start; i < end; i++) {
+            boolean wordPart = this.isWordPart(sequence, i);
+
+            if (!previousWordPart) {
+                boundaries.setStart(i);
+            }
+
+            if (!wordPart) {
+                boundaries.setEnd(i);
+            }
+
+            previousWordPart = wordPart;
+        }
+
+        if (end == sequence.length() || !this.isWordPart(sequence, end)) {
+            boundaries.setEnd(end);
+        }
+    }
+
+    /**
+     * Determine whether the char at the given <code>index</code> belongs to a word. Subclasses can override this method to take the
+     * surrounding chars into account.
+     */
+    protected boolean isWordPart(CharSequence sequence, int index) {
+        char c = sequence.charAt(index);
+
+        if (c < ASCII_WORD_CHARS.length) {
+            return ASCII_WORD_CHARS[c];
+        }
+
+        return Character.isAlphabetic(c) || Character.isDigit(c);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static com.indoqa.fsa.character.CharDataAccessor.*;
+
+/**
+ * Keeps the state of a traversal through a {@link CharAcceptor} or {@link CharTransducer}, advancing one char at a time.<br/>
+ * <br/>
+ * This allows callers to drive the traversal in lockstep with their own scanning loop, e.g. for stopping as soon as no accepted
+ * input can start with the chars seen so far. Stepping does not create any objects, so a single cursor can be reused by calling
+ * {@link #reset()}.<br/>
+ * <br/>
+ * A cursor is not thread-safe, but any number of cursors can be used on the same acceptor or transducer concurrently.
+ */
+public class AcceptorCursor {
+
+    private static final int NONE = -1;
+
+    private final CharAcceptor charAcceptor;
+    private final char[] data;
+    private final boolean caseSensitive;
+    private final int separator;
+
+    private int node;
+    private int arc;
+    private int length;
+    private boolean dead;
+
+    protected AcceptorCursor(CharAcceptor charAcceptor, int separator) {
+        super();
+
+        this.charAcceptor = charAcceptor;
+        this.data = charAcceptor.data;
+        this.caseSensitive = charAcceptor.isCaseSensitive();
+        this.separator = separator;
+
+        this.reset();
+    }
+
+    /**
+     * @return The number of chars successfully stepped since the last {@link #reset()}. The char that made the cursor
+     *         {@link #isDead() dead} is not counted.
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * @return <code>true</code> if no accepted input starts with the chars stepped since the last {@link #reset()}. Once dead, the
+     *         cursor stays dead until it is reset.
+     */
+    public boolean isDead() {
+        return this.dead;
+    }
+
+    /**
+     * @return <code>true</code> if the chars stepped since the last {@link #reset()} form an accepted input (for transducers: an
+     *         input with an output).
+     */
+    public boolean isTerminal() {
+        if (this.dead || this.length == 0) {
+            return false;
+        }
+
+        if (this.separator == NONE) {
+            return CharDataAccessor.isTerminal(this.data, this.arc);
+        }
+
+        return this.node != 0 && getArc(this.data, this.node, (char) this.separator, this.caseSensitive) != NONE;
+    }
+
+    /**
+     * @return The output for the chars stepped since the last {@link #reset()} or <code>null</code> if the cursor was not created by
+     *         a {@link CharTransducer} or is not {@link #isTerminal() terminal}.
+     */
+    public CharSequence output() {
+        if (this.separator == NONE || !this.isTerminal()) {
+            return null;
+        }
+
+        int outputArc = getArc(this.data, this.node, (char) this.separator, this.caseSensitive);
+        int outputNode = getTarget(this.data, outputArc);
+        if (outputNode == 0) {
+            return "";
+        }
+
+        return this.charAcceptor.getInput(outputNode);
+    }
+
+    /**
+     * Return to the initial state, where no chars have been stepped.
+     */
+    public void reset() {
+        this.node = 0;
+        this.arc = NONE;
+        this.length = 0;
+        this.dead = this.data.length == 0;
+    }
+
+    /**
+     * Advance the cursor by the given char.
+     *
+     * @return <code>false</code> if the cursor is {@link #isDead() dead} after this step.
+     */
+    public boolean step(char c) {
+        if (this.dead) {
+            return false;
+        }
+
+        // a node index of 0 after the first step means that the previous arc has no target
+        if (this.length > 0 && this.node == 0) {
+            this.dead = true;
+            return false;
+        }
+
+        // the separator of a transducer leads to the output, which is not part of any input
+        int nextArc = c == this.separator ? NONE : getArc(this.data, this.node, c, this.caseSensitive);
+        if (nextArc == NONE) {
+            this.dead = true;
+            return false;
+        }
+
+        this.arc = nextArc;
+        this.node = getTarget(this.data, nextArc);
+        this.length++;
+        return true;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+/**
+ * Set operations on {@link CharAcceptor CharAcceptors}.<br/>
+ * <br/>
+ * The operations create lazy views, that do not require any memory beyond the operands, but traverse both operands in lockstep
+ * during every query. Views used for large amounts of text can be converted into a minimal {@link CharAcceptor} with
+ * {@link ProductAcceptor#toCharAcceptor()}.
+ */
+public final class Acceptors {
+
+    private Acceptors() {
+        // hide utility class constructor
+    }
+
+    /**
+     * Create a view accepting all inputs of <code>acceptor</code> that are not accepted by <code>excluded</code>, e.g. for applying
+     * a blocklist.
+     */
+    public static ProductAcceptor difference(CharAcceptor acceptor, CharAcceptor excluded) {
+        return new ProductAcceptor(acceptor, excluded, true);
+    }
+
+    /**
+     * Create a view accepting all inputs accepted by both <code>first</code> and <code>second</code>.
+     */
+    public static ProductAcceptor intersection(CharAcceptor first, CharAcceptor second) {
+        return new ProductAcceptor(first, second, false);
+    }
+}
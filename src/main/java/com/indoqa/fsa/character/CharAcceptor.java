@@ -19,21 +19,60 @@ package com.indoqa.fsa.character;
 import static com.indoqa.fsa.character.CharDataAccessor.*;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 import com.indoqa.fsa.Acceptor;
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.OverlapPolicy;
 import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.TokenList;
 import com.indoqa.fsa.utils.CharMatch;
-import com.indoqa.fsa.utils.EncodingUtils;
 import com.indoqa.fsa.utils.TokenCandidate;
 
 public class CharAcceptor implements Acceptor {
 
     protected final char[] data;
+    private final int[] weights;
+    private final CharAcceptor reversedAcceptor;
     private boolean caseSensitive;
+    private int maxInputLength = -1;
+    private int minInputLength = -1;
+    private volatile int[] counts;
+    private volatile StartFilter startFilter;
 
     protected CharAcceptor(char[] data, boolean caseSensitive) {
+        this(data, caseSensitive, null, null);
+    }
+
+    protected CharAcceptor(char[] data, boolean caseSensitive, int[] weights, CharAcceptor reversedAcceptor) {
         this.data = data;
         this.caseSensitive = caseSensitive;
+        this.weights = weights;
+        this.reversedAcceptor = reversedAcceptor;
+    }
+
+    private static int compare(CharSequence sequence, CharSequence otherSequence) {
+        int commonPrefixLength = getCommonPrefixLength(sequence, otherSequence);
+
+        if (commonPrefixLength < sequence.length() && commonPrefixLength < otherSequence.length()) {
+            return Character.compare(sequence.charAt(commonPrefixLength), otherSequence.charAt(commonPrefixLength));
+        }
+
+        return Integer.compare(sequence.length(), otherSequence.length());
+    }
+
+    private static int getCommonPrefixLength(CharSequence sequence, CharSequence otherSequence) {
+        int maxLength = Math.min(sequence.length(), otherSequence.length());
+
+        for (int i = 0; i < maxLength; i++) {
+            if (sequence.charAt(i) != otherSequence.charAt(i)) {
+                return i;
+            }
+        }
+
+        return maxLength;
     }
 
     @Override
@@ -61,31 +100,265 @@ public class CharAcceptor implements Acceptor {
         return isTerminal(this.data, arc);
     }
 
-    @Override
-    public String[] getAllMatches(CharSequence sequence) {
-        return this.getAllMatches(sequence, 0, sequence.length());
+    /**
+     * Performs the same operation as {@link #accepts(CharSequence)} for all given <code>inputs</code>.<br/>
+     * <br/>
+     * The inputs are processed in sorted order, so that the traversal of a common prefix is shared with the previous input. This is
+     * considerably faster than calling {@link #accepts(CharSequence)} for each input, when the inputs share prefixes.
+     *
+     * @param inputs The inputs to check.
+     * @param result Receives the result for each input: the bit at the index of an input is set if and only if it is accepted.
+     */
+    public void acceptsAll(CharSequence[] inputs, BitSet result) {
+        int[] arcs = this.getFinalArcs(inputs);
+
+        for (int i = 0; i < inputs.length; i++) {
+            result.set(i, arcs[i] != -1 && isTerminal(this.data, arcs[i]));
+        }
+    }
+
+    /**
+     * Count the accepted inputs between <code>from</code> (inclusive) and <code>to</code> (exclusive), using the order of
+     * {@link #iterator()}.<br/>
+     * <br/>
+     * Both bounds are located in O(length * arcs per node), independent of the number of inputs in the range.
+     *
+     * @see #countWithPrefix(CharSequence)
+     */
+    public int countInRange(CharSequence from, CharSequence to) {
+        return Math.max(this.getRank(to) - this.getRank(from), 0);
+    }
+
+    /**
+     * Count the accepted inputs starting with the given <code>prefix</code>, including the <code>prefix</code> itself.<br/>
+     * <br/>
+     * The number of inputs reachable over each arc is determined once for the whole graph on the first call, all further calls only
+     * traverse the <code>prefix</code>.
+     */
+    public int countWithPrefix(CharSequence prefix) {
+        if (this.data.length == 0) {
+            return 0;
+        }
+
+        int[] arcCounts = this.getCounts();
+
+        if (prefix.length() == 0) {
+            return this.getCount(0, arcCounts);
+        }
+
+        int index = 0;
+        int arc = 0;
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (i > 0) {
+                index = getTarget(this.data, arc);
+                if (index == 0) {
+                    return 0;
+                }
+            }
+
+            arc = getArc(this.data, index, prefix.charAt(i), this.caseSensitive);
+            if (arc == -1) {
+                return 0;
+            }
+        }
+
+        return arcCounts[arc / NODE_SIZE];
+    }
+
+    /**
+     * Create an {@link AcceptorCursor} for advancing through this {@link CharAcceptor} one char at a time.
+     *
+     * @return A new {@link AcceptorCursor} in its initial state.
+     */
+    public AcceptorCursor createCursor() {
+        return new AcceptorCursor(this, -1);
+    }
+
+    /**
+     * Create an {@link OccurrenceIndex} for finding all occurrences in a single pass.<br/>
+     * <br/>
+     * Creating the index is expensive in terms of time and memory, so it should be created once and then be reused.
+     *
+     * @return The {@link OccurrenceIndex} for this {@link CharAcceptor}.
+     */
+    public OccurrenceIndex createOccurrenceIndex() {
+        return new OccurrenceIndex(this);
+    }
+
+    /**
+     * Create a {@link SkipSearch} for finding all occurrences while skipping positions at which no occurrence can start.<br/>
+     * <br/>
+     * Creating the search requires a traversal of all prefixes up to {@link #getMinInputLength()}, so it should be created once and
+     * then be reused.
+     *
+     * @return The {@link SkipSearch} for this {@link CharAcceptor}.
+     */
+    public SkipSearch createSkipSearch() {
+        return new SkipSearch(this);
+    }
+
+    /**
+     * Report all accepted inputs in the same order as {@link #iterator()}, but without creating any objects per input.
+     *
+     * @see CharBufferConsumer
+     */
+    public void forEach(CharBufferConsumer consumer) {
+        this.forEach(-1, consumer);
     }
 
     @Override
-    public String[] getAllMatches(CharSequence sequence, int start, int length) {
-        List<String> result = new ArrayList<>();
+    public void forEachMatch(CharSequence sequence, int start, int length, MatchConsumer consumer) {
         int index = 0;
 
         for (int i = start; i < start + length; i++) {
-            index = getArc(this.data, index, sequence.charAt(i), this.caseSensitive);
-            if (index == -1) {
+            int arc = getArc(this.data, index, sequence.charAt(i), this.caseSensitive);
+            if (arc == -1) {
                 break;
             }
 
-            if (isTerminal(this.data, index)) {
-                result.add(sequence.subSequence(start, i + 1).toString());
+            if (isTerminal(this.data, arc)) {
+                consumer.accept(start, i + 1, arc);
             }
 
-            index = getTarget(this.data, index);
+            index = getTarget(this.data, arc);
             if (index == 0) {
                 break;
             }
         }
+    }
+
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        StartFilter filter = this.getStartFilter();
+        int end = start + length;
+
+        for (int i = start; i < end; i++) {
+            if (filter.isCandidate(sequence, i, end)) {
+                this.forEachMatch(sequence, i, end - i, consumer);
+            }
+        }
+    }
+
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+        StartFilter filter = this.getStartFilter();
+        int end = start + length;
+
+        for (int i = start; i < end; i = Math.max(i + 1, selection.complete())) {
+            if (filter.isCandidate(sequence, i, end)) {
+                this.forEachMatch(sequence, i, end - i, selection);
+            }
+        }
+    }
+
+    /**
+     * Report all accepted inputs matching the given <code>pattern</code> in their natural order.<br/>
+     * <br/>
+     * The graph is walked in lockstep with the deterministic automaton of the <code>pattern</code>, so only branches that can still
+     * lead to a match are visited.
+     *
+     * @param consumer Receives the matching inputs and returns <code>false</code> to stop the walk.
+     */
+    public void forEachPatternMatch(CharPattern pattern, Predicate<String> consumer) {
+        if (this.data.length == 0) {
+            return;
+        }
+
+        this.forEachPatternMatch(0, pattern.createInitialState(this.caseSensitive), new StringBuilder(), consumer);
+    }
+
+    /**
+     * Report all suffixes of the sequence between <code>start</code> and <code>start + length</code> that are accepted inputs,
+     * ordered by their length.<br/>
+     * <br/>
+     * If this {@link CharAcceptor} was built with {@link CharAcceptorBuilder#setSuffixMatching(boolean) suffix matching}, the
+     * sequence is traversed once from right to left. Otherwise each suffix is looked up separately.
+     */
+    public void forEachSuffixMatch(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        int end = start + length;
+
+        if (this.reversedAcceptor == null) {
+            for (int i = end - 1; i >= start; i--) {
+                if (this.accepts(sequence, i, end - i)) {
+                    consumer.accept(i, end, -1);
+                }
+            }
+            return;
+        }
+
+        char[] reversedData = this.reversedAcceptor.data;
+        if (reversedData.length == 0) {
+            return;
+        }
+
+        int index = 0;
+        for (int i = end - 1; i >= start; i--) {
+            int arc = getArc(reversedData, index, sequence.charAt(i), this.caseSensitive);
+            if (arc == -1) {
+                break;
+            }
+
+            if (isTerminal(reversedData, arc)) {
+                consumer.accept(i, end, arc);
+            }
+
+            index = getTarget(reversedData, arc);
+            if (index == 0) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachToken(sequence, start, length, OverlapPolicy.allOverlapping(), consumer);
+    }
+
+    @Override
+    public void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+        StartFilter filter = this.getStartFilter();
+        int start = boundaries.getStart();
+        int end = start + boundaries.getLength();
+
+        for (int i = start; i < end; i = Math.max(i + 1, selection.complete())) {
+            if (!boundaries.isStart(i) || !filter.isCandidate(sequence, i, end)) {
+                continue;
+            }
+
+            int index = 0;
+            for (int j = i; j < end; j++) {
+                int arc = getArc(this.data, index, sequence.charAt(j), this.caseSensitive);
+                if (arc == -1) {
+                    break;
+                }
+
+                if (isTerminal(this.data, arc) && boundaries.isEnd(j + 1)) {
+                    selection.accept(i, j + 1, arc);
+                }
+
+                index = getTarget(this.data, arc);
+                if (index == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String[] getAllMatches(CharSequence sequence) {
+        return this.getAllMatches(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public String[] getAllMatches(CharSequence sequence, int start, int length) {
+        List<String> result = new ArrayList<>();
+
+        this.forEachMatch(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(sequence.subSequence(matchStart, matchEnd).toString());
+        });
 
         return result.toArray(new String[result.size()]);
     }
@@ -99,16 +372,33 @@ public class CharAcceptor implements Acceptor {
     public List<Token> getAllOccurrences(CharSequence sequence, int start, int length) {
         List<Token> result = new ArrayList<>();
 
-        for (int i = start; i < start + length; i++) {
-            String[] allMatches = this.getAllMatches(sequence, i, sequence.length() - i);
-            for (String eachMatch : allMatches) {
-                result.add(Token.create(i, eachMatch));
-            }
-        }
+        this.forEachOccurrence(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd));
+        });
 
         return result;
     }
 
+    public String[] getAllSuffixMatches(CharSequence sequence) {
+        return this.getAllSuffixMatches(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Find all accepted inputs the sequence between <code>start</code> and <code>start + length</code> ends with, ordered by their
+     * length.
+     *
+     * @see #forEachSuffixMatch(CharSequence, int, int, MatchConsumer)
+     */
+    public String[] getAllSuffixMatches(CharSequence sequence, int start, int length) {
+        List<String> result = new ArrayList<>();
+
+        this.forEachSuffixMatch(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(sequence.subSequence(matchStart, matchEnd).toString());
+        });
+
+        return result.toArray(new String[result.size()]);
+    }
+
     @Override
     public List<Token> getAllTokens(CharSequence sequence) {
         return this.getAllTokens(sequence, 0, sequence.length());
@@ -118,21 +408,9 @@ public class CharAcceptor implements Acceptor {
     public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
         List<Token> result = new ArrayList<>();
 
-        for (int i = start; i < start + length - 1; i++) {
-            if (!EncodingUtils.isTokenStart(sequence, i)) {
-                continue;
-            }
-
-            String[] allMatches = this.getAllMatches(sequence, i, sequence.length() - i);
-            for (String eachMatch : allMatches) {
-                if (!EncodingUtils.isTokenEnd(sequence, i + eachMatch.length() - 1)) {
-                    continue;
-                }
-
-                Token token = Token.create(i, eachMatch);
-                result.add(token);
-            }
-        }
+        this.forEachToken(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd));
+        });
 
         return result;
     }
@@ -177,6 +455,19 @@ public class CharAcceptor implements Acceptor {
         return completions;
     }
 
+    /**
+     * Find all accepted inputs within a Levenshtein distance of <code>maxEdits</code> of the given <code>sequence</code>.<br/>
+     * <br/>
+     * The graph is traversed depth-first while computing the edit distances of the traversed prefix to all prefixes of the
+     * <code>sequence</code>. Branches are pruned as soon as no distance is within <code>maxEdits</code> anymore, so only a small
+     * part of the graph is visited for small values of <code>maxEdits</code>.
+     *
+     * @return The matches ordered by their distance.
+     */
+    public List<FuzzyMatch> getFuzzyMatches(CharSequence sequence, int maxEdits) {
+        return this.getFuzzyMatches(sequence, maxEdits, -1);
+    }
+
     @Override
     public String getLongestMatch(CharSequence sequence) {
         return this.getLongestMatch(sequence, 0, sequence.length());
@@ -217,7 +508,30 @@ public class CharAcceptor implements Acceptor {
 
     @Override
     public List<Token> getLongestOccurrences(CharSequence sequence, int start, int length) {
-        return TokenCandidate.eliminateOverlapping(this.getAllOccurrences(sequence, start, length));
+        TokenList tokens = this.getAllOccurrences(sequence, start, length, new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence);
+    }
+
+    public String getLongestSuffixMatch(CharSequence sequence) {
+        return this.getLongestSuffixMatch(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Find the longest accepted input the sequence between <code>start</code> and <code>start + length</code> ends with.
+     *
+     * @return The longest suffix match or <code>null</code> if there is none.
+     * @see #forEachSuffixMatch(CharSequence, int, int, MatchConsumer)
+     */
+    public String getLongestSuffixMatch(CharSequence sequence, int start, int length) {
+        int[] longestStart = {-1};
+
+        this.forEachSuffixMatch(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> longestStart[0] = matchStart);
+
+        if (longestStart[0] == -1) {
+            return null;
+        }
+
+        return sequence.subSequence(longestStart[0], start + length).toString();
     }
 
     @Override
@@ -227,7 +541,107 @@ public class CharAcceptor implements Acceptor {
 
     @Override
     public List<Token> getLongestTokens(CharSequence sequence, int start, int length) {
-        return TokenCandidate.eliminateOverlapping(this.getAllTokens(sequence, start, length));
+        TokenList tokens = this.getAllTokens(sequence, start, length, new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence);
+    }
+
+    @Override
+    public int getMaxInputLength() {
+        if (this.maxInputLength == -1) {
+            this.maxInputLength = this.getMaxLength(-1);
+        }
+
+        return this.maxInputLength;
+    }
+
+    /**
+     * @return The length of the shortest accepted input or <code>0</code> if there is none.
+     */
+    public int getMinInputLength() {
+        if (this.minInputLength == -1) {
+            this.minInputLength = this.getMinLength();
+        }
+
+        return this.minInputLength;
+    }
+
+    /**
+     * Find at most <code>maxCount</code> accepted inputs matching the given <code>pattern</code>.
+     *
+     * @see #forEachPatternMatch(CharPattern, Predicate)
+     */
+    public List<String> getPatternMatches(CharPattern pattern, int maxCount) {
+        if (maxCount < 1) {
+            return Collections.emptyList();
+        }
+
+        List<String> result = new ArrayList<>();
+        this.forEachPatternMatch(pattern, input -> {
+            result.add(input);
+            return result.size() < maxCount;
+        });
+        return result;
+    }
+
+    /**
+     * Find at most <code>maxCount</code> accepted inputs starting with the given <code>sequence</code>, ordered by their
+     * weight.<br/>
+     * <br/>
+     * The search is best-first: candidates are expanded in the order of the highest weight reachable over their arcs, so only the
+     * paths leading to the result and their immediate neighbors are visited, instead of the whole subtree.<br/>
+     * If this {@link CharAcceptor} was built without any weights, this is the same as {@link #getCompletions(CharSequence, int)}.
+     *
+     * @see CharAcceptorBuilder#addWeightedInput(CharSequence, int)
+     */
+    public List<String> getTopCompletions(CharSequence sequence, int maxCount) {
+        if (this.weights == null) {
+            return this.getCompletions(sequence, maxCount);
+        }
+
+        if (maxCount < 1 || this.data.length == 0) {
+            return Collections.emptyList();
+        }
+
+        int index = 0;
+        int arc = 0;
+
+        for (int i = 0; i < sequence.length(); i++) {
+            arc = getArc(this.data, index, sequence.charAt(i), this.caseSensitive);
+            if (arc == -1) {
+                return Collections.emptyList();
+            }
+
+            index = getTarget(this.data, arc);
+            if (index == 0 && i < sequence.length() - 1) {
+                return Collections.emptyList();
+            }
+        }
+
+        TopCompletionSearch search = new TopCompletionSearch(sequence);
+        if (sequence.length() > 0 && isTerminal(this.data, arc)) {
+            search.addPrefix(arc);
+        }
+        if (sequence.length() == 0 || index != 0) {
+            search.addArcs(null, index);
+        }
+
+        return search.getCompletions(maxCount);
+    }
+
+    /**
+     * Get a view of this {@link CharAcceptor} that compares chars case-insensitively, so that a single case-sensitive graph can serve
+     * both case-sensitive and case-insensitive queries.<br/>
+     * <br/>
+     * The view is slower than a case-insensitive {@link CharAcceptor}, see {@link CaseInsensitiveAcceptor}.
+     *
+     * @return This {@link CharAcceptor} if it is case-insensitive already, a {@link CaseInsensitiveAcceptor} otherwise.
+     */
+    public Acceptor ignoringCase() {
+        if (!this.caseSensitive) {
+            return this;
+        }
+
+        return new CaseInsensitiveAcceptor(this);
     }
 
     public boolean isCaseSensitive() {
@@ -238,13 +652,83 @@ public class CharAcceptor implements Acceptor {
         return new AcceptorIterator(0, "");
     }
 
-    protected void getAllPrefixes(CharSequence sequence, int start, int length, char separator, List<Token> result) {
-        int matchedLength = 0;
+    /**
+     * Get a view of this {@link CharAcceptor} that normalizes the examined text with the given <code>normalizer</code> while
+     * traversing the graph, without copying the text. The inputs of this {@link CharAcceptor} must have been normalized with the same
+     * <code>normalizer</code>.
+     *
+     * @see CharNormalizer
+     */
+    public Acceptor normalizing(CharNormalizer normalizer) {
+        return new NormalizingAcceptor(this, normalizer);
+    }
+
+    /**
+     * Walk the graph depth-first, keeping the labels of the current path in a buffer that is only grown for paths longer than any
+     * before.
+     *
+     * @param separator The separator of a transducer, whose first index on the path is reported, or <code>-1</code>.
+     */
+    protected void forEach(int separator, CharBufferConsumer consumer) {
+        if (this.data.length == 0) {
+            return;
+        }
+
+        char[] buffer = new char[16];
+        // the current arc at each depth of the path
+        int[] arcs = new int[16];
+        int depth = 0;
+        int separatorIndex = -1;
+
+        while (depth >= 0) {
+            int arc = arcs[depth];
+            char label = getLabel(this.data, arc);
+            buffer[depth] = label;
+
+            if (separatorIndex >= depth) {
+                separatorIndex = -1;
+            }
+            if (label == separator && separatorIndex == -1) {
+                separatorIndex = depth;
+            }
+
+            if (isTerminal(this.data, arc)) {
+                consumer.accept(buffer, depth + 1, separatorIndex);
+            }
+
+            int target = getTarget(this.data, arc);
+            if (target != 0) {
+                depth++;
+
+                if (depth == arcs.length) {
+                    buffer = Arrays.copyOf(buffer, depth * 2);
+                    arcs = Arrays.copyOf(arcs, depth * 2);
+                }
+
+                arcs[depth] = target;
+                continue;
+            }
+
+            while (depth >= 0 && isLast(this.data, arcs[depth])) {
+                depth--;
+            }
+
+            if (depth >= 0) {
+                arcs[depth] += NODE_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Report all prefixes of the given <code>sequence</code> that are followed by the <code>separator</code>.<br/>
+     * <br/>
+     * The <code>nodeIndex</code> reported to the <code>consumer</code> is the index of the node following the separator.
+     */
+    protected void forEachPrefix(CharSequence sequence, int start, int length, char separator, MatchConsumer consumer) {
         int index = 0;
-        int arc = 0;
 
         for (int i = start; i < start + length; i++) {
-            arc = getArc(this.data, index, sequence.charAt(i), this.caseSensitive);
+            int arc = getArc(this.data, index, sequence.charAt(i), this.caseSensitive);
             if (arc == -1) {
                 break;
             }
@@ -254,13 +738,81 @@ public class CharAcceptor implements Acceptor {
                 break;
             }
 
-            matchedLength++;
-            if (getArc(this.data, index, separator, this.caseSensitive) != -1) {
-                result.add(Token.create(start, sequence.subSequence(start, start + matchedLength).toString()));
+            int separatorArc = getArc(this.data, index, separator, this.caseSensitive);
+            if (separatorArc != -1) {
+                consumer.accept(start, i + 1, getTarget(this.data, separatorArc));
             }
         }
     }
 
+    /**
+     * Traverse all given <code>inputs</code> in sorted order, sharing the traversal of common prefixes.
+     *
+     * @return The index of the arc of the last char of each input or <code>-1</code> if the input could not be traversed completely.
+     */
+    protected int[] getFinalArcs(CharSequence[] inputs) {
+        int[] result = new int[inputs.length];
+
+        Integer[] order = new Integer[inputs.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (index, otherIndex) -> compare(inputs[index], inputs[otherIndex]));
+
+        // nodes[i] is the node reached after the first i chars of the previous input, arcs[i] the arc of its char at i
+        int[] nodes = new int[64];
+        int[] arcs = new int[64];
+
+        CharSequence previous = "";
+        int previousDepth = 0;
+
+        for (Integer eachIndex : order) {
+            CharSequence input = inputs[eachIndex];
+            if (nodes.length <= input.length()) {
+                nodes = Arrays.copyOf(nodes, input.length() + 1);
+                arcs = Arrays.copyOf(arcs, input.length() + 1);
+            }
+
+            int depth = Math.min(getCommonPrefixLength(previous, input), previousDepth);
+            while (depth < input.length()) {
+                if (depth > 0 && nodes[depth] == 0) {
+                    // no more nodes
+                    break;
+                }
+
+                int arc = getArc(this.data, nodes[depth], input.charAt(depth), this.caseSensitive);
+                if (arc == -1) {
+                    break;
+                }
+
+                arcs[depth] = arc;
+                nodes[depth + 1] = getTarget(this.data, arc);
+                depth++;
+            }
+
+            result[eachIndex] = depth == input.length() && depth > 0 ? arcs[depth - 1] : -1;
+
+            previous = input;
+            previousDepth = depth;
+        }
+
+        return result;
+    }
+
+    /**
+     * @param separator The separator of a transducer, which ends the inputs and is followed by their outputs, or <code>-1</code>.
+     */
+    protected List<FuzzyMatch> getFuzzyMatches(CharSequence sequence, int maxEdits, int separator) {
+        if (maxEdits < 0 || this.data.length == 0) {
+            return Collections.emptyList();
+        }
+
+        FuzzySearch fuzzySearch = new FuzzySearch(sequence, maxEdits, separator);
+        fuzzySearch.visit(0, 0);
+
+        List<FuzzyMatch> result = fuzzySearch.getResult();
+        result.sort(Comparator.comparingInt(FuzzyMatch::getDistance));
+        return result;
+    }
+
     protected String getInput(int startIndex) {
         StringBuilder stringBuilder = new StringBuilder();
 
@@ -305,11 +857,13 @@ public class CharAcceptor implements Acceptor {
         }
     }
 
-    protected void getLongestTokenPrefix(CharSequence sequence, int start, int length, char separator, CharMatch charMatch) {
+    protected void getLongestTokenPrefix(CharSequence sequence, int start, TokenBoundaries boundaries, char separator,
+        CharMatch match) {
         int index = 0;
-        charMatch.setIndex(-1);
+        match.setIndex(-1);
 
-        for (int i = start; i < start + length; i++) {
+        int end = boundaries.getStart() + boundaries.getLength();
+        for (int i = start; i < end; i++) {
             index = getArc(this.data, index, sequence.charAt(i), this.caseSensitive);
             if (index == -1) {
                 return;
@@ -320,13 +874,29 @@ public class CharAcceptor implements Acceptor {
                 break;
             }
 
-            if (EncodingUtils.isTokenEnd(sequence, i) && getArc(this.data, index, separator, this.caseSensitive) != -1) {
-                charMatch.setIndex(index);
-                charMatch.setLength(i - start + 1);
+            if (boundaries.isEnd(i + 1) && getArc(this.data, index, separator, this.caseSensitive) != -1) {
+                match.setIndex(index);
+                match.setLength(i - start + 1);
             }
         }
     }
 
+    /**
+     * Determine the length of the longest path starting at the root, ending before the first arc with the given
+     * <code>stopLabel</code>.
+     *
+     * @param stopLabel The label ending a path or <code>-1</code> to determine the length of the longest input.
+     */
+    protected int getMaxLength(int stopLabel) {
+        if (this.data.length == 0) {
+            return 0;
+        }
+
+        // the length of the longest path starting at each node plus 1, 0 if not known yet
+        int[] lengths = new int[this.data.length / NODE_SIZE + 1];
+        return this.getMaxLength(0, stopLabel, lengths);
+    }
+
     protected int getNextIndex(char label, int index) {
         int arc = getArc(this.data, index, label, this.caseSensitive);
         if (arc == -1) {
@@ -336,6 +906,217 @@ public class CharAcceptor implements Acceptor {
         return getTarget(this.data, arc);
     }
 
+    private int countInputs(int node, int[] arcCounts) {
+        int result = 0;
+
+        for (int arc = node; arc < this.data.length; arc += NODE_SIZE) {
+            int slot = arc / NODE_SIZE;
+
+            if (arcCounts[slot] == -1) {
+                int target = getTarget(this.data, arc);
+                arcCounts[slot] = (isTerminal(this.data, arc) ? 1 : 0) + (target == 0 ? 0 : this.countInputs(target, arcCounts));
+            }
+
+            result += arcCounts[slot];
+
+            if (isLast(this.data, arc)) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    private boolean forEachPatternMatch(int node, CharPattern.State state, StringBuilder path, Predicate<String> consumer) {
+        for (int arc = node; arc < this.data.length; arc += NODE_SIZE) {
+            char label = getLabel(this.data, arc);
+
+            CharPattern.State nextState = state.getNext(label);
+            if (!nextState.isDead()) {
+                path.append(label);
+
+                if (isTerminal(this.data, arc) && nextState.isAccepting() && !consumer.test(path.toString())) {
+                    return false;
+                }
+
+                int target = getTarget(this.data, arc);
+                if (target != 0 && !this.forEachPatternMatch(target, nextState, path, consumer)) {
+                    return false;
+                }
+
+                path.setLength(path.length() - 1);
+            }
+
+            if (isLast(this.data, arc)) {
+                break;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The number of inputs reachable over the arcs of the given <code>node</code>.
+     */
+    private int getCount(int node, int[] arcCounts) {
+        int result = 0;
+
+        for (int arc = node; arc < this.data.length; arc += NODE_SIZE) {
+            result += arcCounts[arc / NODE_SIZE];
+
+            if (isLast(this.data, arc)) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return The number of inputs reachable over each arc, indexed by <code>arc / NODE_SIZE</code>.
+     */
+    private int[] getCounts() {
+        int[] result = this.counts;
+
+        if (result == null) {
+            // concurrent callers may compute the counts more than once, but always publish identical arrays
+            result = new int[this.data.length / NODE_SIZE];
+            Arrays.fill(result, -1);
+
+            this.countInputs(0, result);
+            this.counts = result;
+        }
+
+        return result;
+    }
+
+    private int getMaxLength(int node, int stopLabel, int[] lengths) {
+        int slot = node / NODE_SIZE;
+        if (lengths[slot] != 0) {
+            return lengths[slot] - 1;
+        }
+
+        int result = 0;
+        for (int arc = node; arc < this.data.length; arc += NODE_SIZE) {
+            if (getLabel(this.data, arc) != stopLabel) {
+                int target = getTarget(this.data, arc);
+                int length = target == 0 ? 1 : 1 + this.getMaxLength(target, stopLabel, lengths);
+                result = Math.max(result, length);
+            }
+
+            if (isLast(this.data, arc)) {
+                break;
+            }
+        }
+
+        lengths[slot] = result + 1;
+        return result;
+    }
+
+    /**
+     * @return The length of the shortest accepted input, or <code>0</code> if there is none.
+     */
+    private int getMinLength() {
+        if (this.data.length == 0) {
+            return 0;
+        }
+
+        // breadth-first, so the first terminal arc found is on a shortest path
+        BitSet visited = new BitSet();
+        BitSet nodes = new BitSet();
+        nodes.set(0);
+
+        for (int depth = 1; !nodes.isEmpty(); depth++) {
+            BitSet nextNodes = new BitSet();
+
+            for (int slot = nodes.nextSetBit(0); slot != -1; slot = nodes.nextSetBit(slot + 1)) {
+                for (int arc = slot * NODE_SIZE; arc < this.data.length; arc += NODE_SIZE) {
+                    if (isTerminal(this.data, arc)) {
+                        return depth;
+                    }
+
+                    int target = getTarget(this.data, arc);
+                    if (target != 0 && !visited.get(target / NODE_SIZE)) {
+                        visited.set(target / NODE_SIZE);
+                        nextNodes.set(target / NODE_SIZE);
+                    }
+
+                    if (isLast(this.data, arc)) {
+                        break;
+                    }
+                }
+            }
+
+            nodes = nextNodes;
+        }
+
+        return 0;
+    }
+
+    /**
+     * @return The number of accepted inputs preceding the given <code>sequence</code> in the order of {@link #iterator()}.
+     */
+    private int getRank(CharSequence sequence) {
+        if (this.data.length == 0) {
+            return 0;
+        }
+
+        int[] arcCounts = this.getCounts();
+        int result = 0;
+        int index = 0;
+
+        for (int i = 0; i < sequence.length(); i++) {
+            char label = sequence.charAt(i);
+            int matchingArc = -1;
+
+            for (int arc = index; arc < this.data.length; arc += NODE_SIZE) {
+                int compare = CharDataAccessor.compare(getLabel(this.data, arc), label, this.caseSensitive);
+                if (compare == 0) {
+                    matchingArc = arc;
+                    break;
+                }
+
+                if (compare > 0) {
+                    break;
+                }
+
+                // all inputs over smaller arcs precede the sequence
+                result += arcCounts[arc / NODE_SIZE];
+
+                if (isLast(this.data, arc)) {
+                    break;
+                }
+            }
+
+            if (matchingArc == -1) {
+                return result;
+            }
+
+            if (i < sequence.length() - 1 && isTerminal(this.data, matchingArc)) {
+                // a proper prefix of the sequence precedes it
+                result++;
+            }
+
+            index = getTarget(this.data, matchingArc);
+            if (index == 0) {
+                return result;
+            }
+        }
+
+        return result;
+    }
+
+    private StartFilter getStartFilter() {
+        StartFilter result = this.startFilter;
+
+        if (result == null) {
+            result = new StartFilter(this, -1);
+            this.startFilter = result;
+        }
+
+        return result;
+    }
+
     private class AcceptorIterator implements Iterator<String> {
 
         private final StringBuilder stringBuilder;
@@ -421,4 +1202,227 @@ public class CharAcceptor implements Acceptor {
             this.indexes[this.offset] = index;
         }
     }
+
+    private class FuzzySearch {
+
+        private final CharSequence sequence;
+        private final int maxEdits;
+        private final int separator;
+
+        private final int[][] rows;
+        private final char[] path;
+        private final List<FuzzyMatch> result = new ArrayList<>();
+
+        public FuzzySearch(CharSequence sequence, int maxEdits, int separator) {
+            super();
+
+            this.sequence = sequence;
+            this.maxEdits = maxEdits;
+            this.separator = separator;
+
+            // the distance grows with every char once the traversed prefix is longer than sequence.length() + maxEdits
+            int maxDepth = sequence.length() + maxEdits;
+            this.rows = new int[maxDepth + 1][sequence.length() + 1];
+            this.path = new char[maxDepth];
+
+            for (int i = 0; i <= sequence.length(); i++) {
+                this.rows[0][i] = i;
+            }
+        }
+
+        public List<FuzzyMatch> getResult() {
+            return this.result;
+        }
+
+        /**
+         * Visit all arcs of the given <code>node</code>, which was reached with the first <code>depth</code> chars of the
+         * path.
+         */
+        public void visit(int node, int depth) {
+            int[] row = this.rows[depth];
+            int length = this.sequence.length();
+
+            for (int arc = node; arc < CharAcceptor.this.data.length; arc += NODE_SIZE) {
+                char label = getLabel(CharAcceptor.this.data, arc);
+
+                if (label == this.separator) {
+                    if (depth > 0 && row[length] <= this.maxEdits) {
+                        int outputNode = getTarget(CharAcceptor.this.data, arc);
+                        String output = outputNode == 0 ? "" : CharAcceptor.this.getInput(outputNode);
+                        this.result.add(new FuzzyMatch(new String(this.path, 0, depth), output, row[length]));
+                    }
+                } else if (depth < this.path.length) {
+                    this.visit(arc, depth, label);
+                }
+
+                if (isLast(CharAcceptor.this.data, arc)) {
+                    break;
+                }
+            }
+        }
+
+        private void visit(int arc, int depth, char label) {
+            int[] row = this.rows[depth];
+            int[] nextRow = this.rows[depth + 1];
+            int length = this.sequence.length();
+
+            nextRow[0] = depth + 1;
+            int minimum = nextRow[0];
+
+            for (int i = 1; i <= length; i++) {
+                boolean equal = CharDataAccessor.equals(label, this.sequence.charAt(i - 1), CharAcceptor.this.caseSensitive);
+                int substitution = row[i - 1] + (equal ? 0 : 1);
+                nextRow[i] = Math.min(substitution, Math.min(row[i], nextRow[i - 1]) + 1);
+                minimum = Math.min(minimum, nextRow[i]);
+            }
+
+            if (minimum > this.maxEdits) {
+                // no continuation of this path can be within maxEdits
+                return;
+            }
+
+            this.path[depth] = label;
+
+            if (this.separator == -1 && isTerminal(CharAcceptor.this.data, arc) && nextRow[length] <= this.maxEdits) {
+                this.result.add(new FuzzyMatch(new String(this.path, 0, depth + 1), null, nextRow[length]));
+            }
+
+            int target = getTarget(CharAcceptor.this.data, arc);
+            if (target != 0) {
+                this.visit(target, depth + 1);
+            }
+        }
+    }
+
+    private static final class Completion implements Comparable<Completion> {
+
+        private final Completion parent;
+        private final int arc;
+        private final int weight;
+        private final boolean complete;
+        private final int order;
+
+        public Completion(Completion parent, int arc, int weight, boolean complete, int order) {
+            super();
+
+            this.parent = parent;
+            this.arc = arc;
+            this.weight = weight;
+            this.complete = complete;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Completion other) {
+            int result = Integer.compare(other.weight, this.weight);
+            if (result != 0) {
+                return result;
+            }
+
+            return Integer.compare(this.order, other.order);
+        }
+
+        public int getArc() {
+            return this.arc;
+        }
+
+        public boolean isComplete() {
+            return this.complete;
+        }
+
+        /**
+         * Create the input by appending the labels of all arcs on the path to the given <code>prefix</code>.
+         */
+        public String toString(CharSequence prefix, char[] data) {
+            int length = 0;
+            for (Completion completion = this; completion != null; completion = completion.parent) {
+                if (completion.arc != -1) {
+                    length++;
+                }
+            }
+
+            char[] chars = new char[length];
+            int offset = length;
+            for (Completion completion = this; completion != null; completion = completion.parent) {
+                if (completion.arc != -1) {
+                    chars[--offset] = getLabel(data, completion.arc);
+                }
+            }
+
+            return new StringBuilder(prefix.length() + length).append(prefix).append(chars).toString();
+        }
+    }
+
+
+    /**
+     * A best-first search over the arcs below a prefix, where each candidate is ranked by the highest weight of the inputs reachable
+     * over its arc. Since these weights never increase along a path, a complete input is only taken from the queue once no other
+     * candidate can lead to a higher weight.
+     */
+    private class TopCompletionSearch {
+
+        private final CharSequence prefix;
+        private final PriorityQueue<Completion> queue = new PriorityQueue<>();
+        private int count;
+
+        public TopCompletionSearch(CharSequence prefix) {
+            super();
+
+            this.prefix = prefix;
+        }
+
+        /**
+         * Add candidates for all arcs of the given <code>node</code>, which continue the path of the <code>parent</code>.
+         */
+        public void addArcs(Completion parent, int node) {
+            for (int arc = node; arc < CharAcceptor.this.data.length; arc += NODE_SIZE) {
+                if (isTerminal(CharAcceptor.this.data, arc)) {
+                    this.addInput(parent, arc);
+                }
+
+                if (getTarget(CharAcceptor.this.data, arc) != 0) {
+                    int maxWeight = CharAcceptor.this.weights[arc / NODE_SIZE * WEIGHTS_PER_ARC];
+                    this.queue.add(new Completion(parent, arc, maxWeight, false, this.count++));
+                }
+
+                if (isLast(CharAcceptor.this.data, arc)) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Add the input ending with the given terminal <code>arc</code>, which continues the path of the <code>parent</code>.
+         */
+        public void addInput(Completion parent, int arc) {
+            this.queue.add(new Completion(parent, arc, this.getTerminalWeight(arc), true, this.count++));
+        }
+
+        /**
+         * Add the prefix itself as input, where <code>arc</code> is the terminal arc of its last char.
+         */
+        public void addPrefix(int arc) {
+            this.queue.add(new Completion(null, -1, this.getTerminalWeight(arc), true, this.count++));
+        }
+
+        public List<String> getCompletions(int maxCount) {
+            List<String> result = new ArrayList<>();
+
+            while (result.size() < maxCount && !this.queue.isEmpty()) {
+                Completion completion = this.queue.poll();
+
+                if (completion.isComplete()) {
+                    result.add(completion.toString(this.prefix, CharAcceptor.this.data));
+                } else {
+                    this.addArcs(completion, getTarget(CharAcceptor.this.data, completion.getArc()));
+                }
+            }
+
+            return result;
+        }
+
+        private int getTerminalWeight(int arc) {
+            return CharAcceptor.this.weights[arc / NODE_SIZE * WEIGHTS_PER_ARC + 1];
+        }
+    }
 }
@@ -19,6 +19,7 @@ package com.indoqa.fsa.character;
 import static com.indoqa.fsa.character.CharDataAccessor.*;
 
 import java.io.*;
+import java.nio.CharBuffer;
 import java.text.NumberFormat;
 import java.util.*;
 import java.util.Map.Entry;
@@ -26,18 +27,29 @@ import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 import com.indoqa.fsa.AcceptorBuilder;
+import com.indoqa.fsa.BuildEstimate;
 
 public class CharAcceptorBuilder implements AcceptorBuilder {
 
     private static final int MIN_FILE_VERSION = 2;
-    public static final int FILE_VERSION = 3; // added "sortFirst"
+    public static final int FILE_VERSION = 4; // added weights
 
     public static final int DEFAULT_CAPACITY_INCREMENT = 16 * 1024;
     public static final int DEFAULT_SHRINK_LIMIT = 1_000;
 
+    // file version, case sensitivity, weights flag, reversed flag and required length
+    private static final int HEADER_SIZE = 4 + 1 + 1 + 1 + 4;
+
+    // conservative memory sizes (uncompressed references, 8 byte alignment)
+    private static final int ARRAY_OVERHEAD = 16 + 8;
+    private static final int REFERENCE_SIZE = 8;
+    // group key, NodeReference, map entry and list per node while minifying
+    private static final int MINIFY_OVERHEAD_PER_NODE = 384;
+
     private final boolean caseSensitive;
 
     private char[][] nodes = new char[0][];
+    private int[][] weights;
     private int nodeCount;
     private final int capacityIncrement;
     private final int shrinkLimit;
@@ -51,8 +63,13 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
     private boolean remapped;
     private int requiredLength;
 
+    private long inputCount;
+    private long arcCount;
+
     private Character sortFirst;
 
+    private CharAcceptorBuilder reversedBuilder;
+
     public CharAcceptorBuilder(boolean caseSensitive) {
         this(caseSensitive, DEFAULT_CAPACITY_INCREMENT, DEFAULT_SHRINK_LIMIT);
     }
@@ -89,13 +106,24 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
         }
 
         boolean caseSensitive = dataInputStream.readBoolean();
+        boolean weighted = fileVersion >= 4 && dataInputStream.readBoolean();
+        boolean reversed = fileVersion >= 4 && dataInputStream.readBoolean();
 
         char[] data = new char[dataInputStream.readInt()];
         for (int i = 0; i < data.length; i++) {
             data[i] = dataInputStream.readChar();
         }
 
-        return new CharAcceptor(data, caseSensitive);
+        int[] weights = null;
+        if (weighted) {
+            weights = new int[data.length / NODE_SIZE * WEIGHTS_PER_ARC];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = dataInputStream.readInt();
+            }
+        }
+
+        CharAcceptor reversedAcceptor = reversed ? read(inputStream) : null;
+        return new CharAcceptor(data, caseSensitive, weights, reversedAcceptor);
     }
 
     private static String formatNumber(long number) {
@@ -130,7 +158,26 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
 
     @Override
     public void addAcceptedInput(CharSequence value, int start, int length) {
-        this.addAcceptedInput(value, start, length, 0, true);
+        this.addAcceptedInput(value, start, length, 0, true, 0);
+        this.addReversedInput(value, start, length);
+    }
+
+    /**
+     * Add an accepted input with a weight for ranking completions.<br/>
+     * <br/>
+     * Inputs added without a weight have the weight 0. If the same input is added more than once, its highest weight is used.
+     *
+     * @param weight The weight of the input, higher weights are ranked first. Must not be negative.
+     *
+     * @see CharAcceptor#getTopCompletions(CharSequence, int)
+     */
+    public void addWeightedInput(CharSequence value, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("The weight must not be negative.");
+        }
+
+        this.addAcceptedInput(value, 0, value.length(), 0, true, weight);
+        this.addReversedInput(value, 0, value.length());
     }
 
     @Override
@@ -142,15 +189,92 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
         this.replacements = null;
 
         char[] data = this.buildData();
-        return new CharAcceptor(data, this.caseSensitive);
+        int[] builtWeights = this.weights == null ? null : this.buildWeights();
+        CharAcceptor reversedAcceptor = this.reversedBuilder == null ? null : this.reversedBuilder.build();
+
+        return new CharAcceptor(data, this.caseSensitive, builtWeights, reversedAcceptor);
+    }
+
+    @Override
+    public BuildEstimate estimate() {
+        BuildEstimate result = new BuildEstimate();
+
+        result.setInputCount(this.inputCount);
+        result.setNodeCount(this.nodeCount);
+        result.setArcCount(this.arcCount);
+
+        // before minifying, the size of all nodes is exactly the number of arcs
+        long size = this.minified ? this.getSize() : this.arcCount * NODE_SIZE;
+        long requiredLength = this.remapped ? this.requiredLength : size;
+
+        long builderHeap = ARRAY_OVERHEAD + (long) this.nodes.length * REFERENCE_SIZE;
+        builderHeap += (long) this.nodeCount * ARRAY_OVERHEAD + size * Character.BYTES;
+        if (this.weights != null) {
+            builderHeap += ARRAY_OVERHEAD + (long) this.weights.length * REFERENCE_SIZE;
+            builderHeap += (long) this.nodeCount * ARRAY_OVERHEAD + size / NODE_SIZE * WEIGHTS_PER_ARC * Integer.BYTES;
+        }
+        result.setBuilderHeap(builderHeap);
+
+        // minifying requires replacements and groups, building requires the final data array, but never both at the same time
+        long minifyHeap = ARRAY_OVERHEAD + (long) this.nodeCount * (Integer.BYTES + MINIFY_OVERHEAD_PER_NODE);
+        minifyHeap += 2 * this.arcCount * Character.BYTES;
+        long dataHeap = ARRAY_OVERHEAD + requiredLength * Character.BYTES;
+        long requiredWeightsSize = this.weights == null ? 0 : requiredLength / NODE_SIZE * WEIGHTS_PER_ARC * Integer.BYTES;
+        dataHeap += requiredWeightsSize;
+        result.setPeakHeap(builderHeap + (this.minified ? dataHeap : Math.max(minifyHeap, dataHeap)));
+
+        result.setRequiredLength(requiredLength);
+        result.setFileSize(HEADER_SIZE + requiredLength * Character.BYTES + requiredWeightsSize);
+
+        if (this.reversedBuilder != null) {
+            // the reversed automaton is built after this one, while this builder is still in memory
+            BuildEstimate reversedEstimate = this.reversedBuilder.estimate();
+
+            result.setBuilderHeap(result.getBuilderHeap() + reversedEstimate.getBuilderHeap());
+            result.setPeakHeap(result.getPeakHeap() + reversedEstimate.getPeakHeap());
+            result.setRequiredLength(result.getRequiredLength() + reversedEstimate.getRequiredLength());
+            result.setFileSize(result.getFileSize() + reversedEstimate.getFileSize());
+        }
+
+        return result;
     }
 
     public void setAbortSupplier(BooleanSupplier abortSupplier) {
         this.abortSupplier = abortSupplier;
+
+        if (this.reversedBuilder != null) {
+            this.reversedBuilder.setAbortSupplier(abortSupplier);
+        }
     }
 
     public void setMessageConsumer(Consumer<String> messageConsumer) {
         this.messageConsumer = messageConsumer;
+
+        if (this.reversedBuilder != null) {
+            this.reversedBuilder.setMessageConsumer(messageConsumer);
+        }
+    }
+
+    /**
+     * Build a reversed automaton alongside the forward one, which allows {@link CharAcceptor#getAllSuffixMatches(CharSequence)}
+     * and {@link CharAcceptor#getLongestSuffixMatch(CharSequence)} to find all suffix matches in a single pass. This roughly
+     * doubles the size of the result.<br/>
+     * <br/>
+     * Must be enabled before any input is added.
+     */
+    public void setSuffixMatching(boolean suffixMatching) {
+        if (this.inputCount > 0) {
+            throw new IllegalStateException("Suffix matching must be configured before adding inputs.");
+        }
+
+        if (!suffixMatching) {
+            this.reversedBuilder = null;
+            return;
+        }
+
+        this.reversedBuilder = new CharAcceptorBuilder(this.caseSensitive, this.capacityIncrement, this.shrinkLimit);
+        this.reversedBuilder.setAbortSupplier(this.abortSupplier);
+        this.reversedBuilder.setMessageConsumer(this.messageConsumer);
     }
 
     @Override
@@ -164,18 +288,28 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
         DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
         dataOutputStream.writeInt(FILE_VERSION);
         dataOutputStream.writeBoolean(this.caseSensitive);
+        dataOutputStream.writeBoolean(this.weights != null);
+        dataOutputStream.writeBoolean(this.reversedBuilder != null);
         dataOutputStream.writeInt(this.requiredLength);
 
         this.serialize(dataOutputStream);
 
         dataOutputStream.flush();
+
+        if (this.reversedBuilder != null) {
+            this.reversedBuilder.write(outputStream);
+        }
     }
 
-    protected int addAcceptedInput(CharSequence value, int start, int length, int startNode, boolean makeTerminal) {
+    protected int addAcceptedInput(CharSequence value, int start, int length, int startNode, boolean makeTerminal, int weight) {
         if (this.minified || this.remapped) {
             throw new IllegalStateException("The data have already been minified / remapped.");
         }
 
+        if (weight != 0 && this.weights == null) {
+            this.initializeWeights();
+        }
+
         int node = startNode;
 
         for (int i = start; i < start + length; i++) {
@@ -183,13 +317,25 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
 
             int arc = CharDataAccessor.getArc(this.nodes[node], 0, value.charAt(i), this.caseSensitive);
             if (arc == -1) {
-                this.addArc(node, value.charAt(i), this.nodeCount, terminal);
+                arc = this.addArc(node, value.charAt(i), this.nodeCount, terminal);
+                this.updateWeights(node, arc, terminal, weight);
                 node = this.nodeCount;
                 this.addNode();
+
+                if (terminal) {
+                    this.inputCount++;
+                }
                 continue;
             }
 
+            this.updateWeights(node, arc, terminal, weight);
+
             if (terminal) {
+                // only count inputs that have not been accepted before
+                if (!CharDataAccessor.isTerminal(this.nodes[node], arc)) {
+                    this.inputCount++;
+                }
+
                 CharDataAccessor.setTerminal(this.nodes[node], arc, true);
                 break;
             }
@@ -200,7 +346,10 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
         return node;
     }
 
-    protected void addArc(int node, char label, int target, boolean terminal) {
+    /**
+     * @return The index of the added arc within the node.
+     */
+    protected int addArc(int node, char label, int target, boolean terminal) {
         char[] oldNodeData = this.nodes[node];
 
         this.nodes[node] = new char[oldNodeData.length + CharDataAccessor.NODE_SIZE];
@@ -234,6 +383,24 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
         if (terminal) {
             CharDataAccessor.setTerminal(this.nodes[node], insertIndex, terminal);
         }
+
+        if (this.weights != null) {
+            int[] oldWeights = this.weights[node];
+            int insertWeightIndex = insertIndex / NODE_SIZE * WEIGHTS_PER_ARC;
+
+            int[] newWeights = new int[oldWeights.length + WEIGHTS_PER_ARC];
+            System.arraycopy(oldWeights, 0, newWeights, 0, insertWeightIndex);
+            System.arraycopy(
+                oldWeights,
+                insertWeightIndex,
+                newWeights,
+                insertWeightIndex + WEIGHTS_PER_ARC,
+                oldWeights.length - insertWeightIndex);
+            this.weights[node] = newWeights;
+        }
+
+        this.arcCount++;
+        return insertIndex;
     }
 
     protected void setSortFirst(Character sortFirst) {
@@ -245,12 +412,33 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
             char[][] newData = new char[this.nodes.length + this.capacityIncrement][];
             System.arraycopy(this.nodes, 0, newData, 0, this.nodes.length);
             this.nodes = newData;
+
+            if (this.weights != null) {
+                this.weights = Arrays.copyOf(this.weights, this.nodes.length);
+            }
         }
 
         this.nodes[this.nodeCount] = new char[0];
+        if (this.weights != null) {
+            this.weights[this.nodeCount] = new int[0];
+        }
         this.nodeCount++;
     }
 
+    private void addReversedInput(CharSequence value, int start, int length) {
+        if (this.reversedBuilder == null) {
+            return;
+        }
+
+        // reverse the chars, not the code points, because the reversed automaton is traversed char by char
+        char[] reversed = new char[length];
+        for (int i = 0; i < length; i++) {
+            reversed[i] = value.charAt(start + length - 1 - i);
+        }
+
+        this.reversedBuilder.addAcceptedInput(CharBuffer.wrap(reversed), 0, length);
+    }
+
     private boolean applyReplacements(char[] nodeData) {
         boolean result = false;
 
@@ -330,7 +518,7 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
                 result.put(key, indexes);
             }
 
-            indexes.add(new NodeReference(node, i));
+            indexes.add(new NodeReference(node, this.weights == null ? null : this.weights[i], i));
         }
 
         for (Iterator<Entry<String, List<NodeReference>>> iterator = result.entrySet().iterator(); iterator.hasNext();) {
@@ -342,6 +530,22 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
         return result;
     }
 
+    private int[] buildWeights() {
+        int[] result = new int[this.requiredLength / NODE_SIZE * WEIGHTS_PER_ARC];
+        int offset = 0;
+
+        for (int i = 0; i < this.nodeCount; i++) {
+            if (this.nodes[i] == null) {
+                continue;
+            }
+
+            System.arraycopy(this.weights[i], 0, result, offset, this.weights[i].length);
+            offset += this.weights[i].length;
+        }
+
+        return result;
+    }
+
     private void checkAborted() {
         if (this.abortSupplier != null && this.abortSupplier.getAsBoolean()) {
             throw new AbortedException();
@@ -397,6 +601,17 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
         return length;
     }
 
+    /**
+     * Create the weights of all arcs added so far, which all belong to inputs with the weight 0.
+     */
+    private void initializeWeights() {
+        this.weights = new int[this.nodes.length][];
+
+        for (int i = 0; i < this.nodeCount; i++) {
+            this.weights[i] = new int[this.nodes[i].length / NODE_SIZE * WEIGHTS_PER_ARC];
+        }
+    }
+
     private void minify() {
         if (this.minified) {
             return;
@@ -455,6 +670,16 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
         this.minified = true;
     }
 
+    private void moveWeightsFirst(int[] nodeWeights, int weightIndex) {
+        int maxWeight = nodeWeights[weightIndex];
+        int terminalWeight = nodeWeights[weightIndex + 1];
+
+        System.arraycopy(nodeWeights, 0, nodeWeights, WEIGHTS_PER_ARC, weightIndex);
+
+        nodeWeights[0] = maxWeight;
+        nodeWeights[1] = terminalWeight;
+    }
+
     private void prepareNodes() {
         char[] tempNode = new char[CharDataAccessor.NODE_SIZE];
 
@@ -472,6 +697,10 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
                     System.arraycopy(eachNode, arc, tempNode, 0, NODE_SIZE); // copy the label data
                     System.arraycopy(eachNode, 0, eachNode, NODE_SIZE, arc); // move everything from 0 - arc by one NODE_SIZE
                     System.arraycopy(tempNode, 0, eachNode, 0, NODE_SIZE); // copy label data to position 0
+
+                    if (this.weights != null) {
+                        this.moveWeightsFirst(this.weights[i], arc / NODE_SIZE * WEIGHTS_PER_ARC);
+                    }
                 }
             }
 
@@ -528,5 +757,33 @@ public class CharAcceptorBuilder implements AcceptorBuilder {
                 outputStream.writeChar(eachChar);
             }
         }
+
+        if (this.weights == null) {
+            return;
+        }
+
+        for (int i = 0; i < this.nodeCount; i++) {
+            if (this.nodes[i] == null) {
+                continue;
+            }
+
+            for (int eachWeight : this.weights[i]) {
+                outputStream.writeInt(eachWeight);
+            }
+        }
+    }
+
+    private void updateWeights(int node, int arc, boolean terminal, int weight) {
+        if (this.weights == null) {
+            return;
+        }
+
+        int[] nodeWeights = this.weights[node];
+        int weightIndex = arc / NODE_SIZE * WEIGHTS_PER_ARC;
+
+        nodeWeights[weightIndex] = Math.max(nodeWeights[weightIndex], weight);
+        if (terminal) {
+            nodeWeights[weightIndex + 1] = Math.max(nodeWeights[weightIndex + 1], weight);
+        }
     }
 }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.indoqa.fsa.Acceptor;
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.OverlapPolicy;
+import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.TokenList;
+import com.indoqa.fsa.utils.TokenCandidate;
+
+/**
+ * Base class for {@link Acceptor Acceptors} that are views of one or more {@link CharAcceptor CharAcceptors} with a different
+ * traversal.<br/>
+ * <br/>
+ * All queries are implemented with {@link #traverse(CharSequence, int, int, MatchConsumer)}, which finds the accepted inputs at
+ * the beginning of a part of a sequence. Queries examining several positions use a single {@link Traversal} per sequence, see
+ * {@link #createTraversal()}.
+ */
+public abstract class CharAcceptorView implements Acceptor {
+
+    @Override
+    public boolean accepts(CharSequence sequence) {
+        return this.accepts(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public boolean accepts(CharSequence sequence, int start, int length) {
+        return length > 0 && this.traverse(sequence, start, length, null) == start + length;
+    }
+
+    @Override
+    public void forEachMatch(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.traverse(sequence, start, length, consumer);
+    }
+
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        Traversal traversal = this.createTraversal();
+
+        for (int i = start; i < start + length; i++) {
+            traversal.traverse(sequence, i, start + length - i, consumer);
+        }
+    }
+
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        Traversal traversal = this.createTraversal();
+        MatchSelection selection = policy.createSelection(consumer);
+
+        for (int i = start; i < start + length; i = Math.max(i + 1, selection.complete())) {
+            traversal.traverse(sequence, i, start + length - i, selection);
+        }
+    }
+
+    @Override
+    public void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachToken(sequence, TokenBoundaries.create(sequence, start, length), OverlapPolicy.allOverlapping(), consumer);
+    }
+
+    @Override
+    public void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+        MatchConsumer tokenEnds = (matchStart, matchEnd, nodeIndex) -> {
+            if (boundaries.isEnd(matchEnd)) {
+                selection.accept(matchStart, matchEnd, nodeIndex);
+            }
+        };
+
+        Traversal traversal = this.createTraversal();
+        int end = boundaries.getStart() + boundaries.getLength();
+        for (int i = boundaries.getStart(); i < end; i = Math.max(i + 1, selection.complete())) {
+            if (boundaries.isStart(i)) {
+                traversal.traverse(sequence, i, end - i, tokenEnds);
+            }
+        }
+    }
+
+    @Override
+    public String[] getAllMatches(CharSequence sequence) {
+        return this.getAllMatches(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public String[] getAllMatches(CharSequence sequence, int start, int length) {
+        List<String> result = new ArrayList<>();
+
+        this.forEachMatch(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(sequence.subSequence(matchStart, matchEnd).toString());
+        });
+
+        return result.toArray(new String[result.size()]);
+    }
+
+    @Override
+    public List<Token> getAllOccurrences(CharSequence sequence) {
+        return this.getAllOccurrences(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public List<Token> getAllOccurrences(CharSequence sequence, int start, int length) {
+        return this.getAllOccurrences(sequence, start, length, new TokenList()).toTokens(sequence);
+    }
+
+    @Override
+    public List<Token> getAllTokens(CharSequence sequence) {
+        return this.getAllTokens(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
+        return this.getAllTokens(sequence, start, length, new TokenList()).toTokens(sequence);
+    }
+
+    @Override
+    public String getLongestMatch(CharSequence sequence) {
+        return this.getLongestMatch(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public String getLongestMatch(CharSequence sequence, int start, int length) {
+        int end = this.traverse(sequence, start, length, null);
+        if (end == -1) {
+            return null;
+        }
+
+        return sequence.subSequence(start, end).toString();
+    }
+
+    @Override
+    public List<Token> getLongestOccurrences(CharSequence sequence) {
+        return this.getLongestOccurrences(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public List<Token> getLongestOccurrences(CharSequence sequence, int start, int length) {
+        TokenList tokens = this.getAllOccurrences(sequence, start, length, new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence);
+    }
+
+    @Override
+    public List<Token> getLongestTokens(CharSequence sequence) {
+        return this.getLongestTokens(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public List<Token> getLongestTokens(CharSequence sequence, int start, int length) {
+        TokenList tokens = this.getAllTokens(sequence, start, length, new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence);
+    }
+
+    /**
+     * Create the {@link Traversal} used for all positions of a single sequence. Implementations requiring scratch space can
+     * override this to allocate it once per sequence instead of once per position.<br/>
+     * <br/>
+     * The {@link Traversal} is only used by the calling thread.
+     */
+    protected Traversal createTraversal() {
+        return this::traverse;
+    }
+
+    /**
+     * Find all accepted inputs at the beginning of the part of <code>sequence</code> denoted by <code>start</code> and
+     * <code>length</code>.
+     *
+     * @param consumer Receives every match in the order of their length, can be <code>null</code>.
+     * @return The end of the longest match or <code>-1</code> if there is none.
+     */
+    protected abstract int traverse(CharSequence sequence, int start, int length, MatchConsumer consumer);
+
+    /**
+     * Performs the same operation as {@link CharAcceptorView#traverse(CharSequence, int, int, MatchConsumer)}.
+     */
+    @FunctionalInterface
+    protected interface Traversal {
+
+        int traverse(CharSequence sequence, int start, int length, MatchConsumer consumer);
+    }
+}
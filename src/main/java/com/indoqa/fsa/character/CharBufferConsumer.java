@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+/**
+ * Receives the entries of a {@link CharAcceptor} or {@link CharTransducer} in a reused buffer, without requiring any objects to be
+ * created.
+ *
+ * @see CharAcceptor#forEach(CharBufferConsumer)
+ * @see CharTransducer#forEach(CharBufferConsumer)
+ */
+@FunctionalInterface
+public interface CharBufferConsumer {
+
+    /**
+     * Accept an entry.<br/>
+     * <br/>
+     * The <code>buffer</code> is overwritten with the next entry, so its contents must be copied if they are needed after this
+     * method returns.
+     *
+     * @param buffer The buffer containing the entry, starting at index 0.
+     * @param length The number of chars of the entry.
+     * @param separatorIndex The index of the separator between input and output for {@link CharTransducer CharTransducers},
+     *            <code>-1</code> otherwise.
+     */
+    void accept(char[] buffer, int length, int separatorIndex);
+}
@@ -27,6 +27,8 @@ public class CharDataAccessor {
     protected static final int MASK_ADDRESS_LOW = 0xFFFF;
     protected static final int MASK_ADDRESS_HIGH = MASK_ADDRESS_LOW & ~MASK_FLAGS;
     protected static final int NODE_SIZE = 3;
+    // the maximum weight of all inputs reachable over an arc and the weight of the input ending with the arc
+    protected static final int WEIGHTS_PER_ARC = 2;
 
     private static final char[] CASE_INSENSITIVE = new char[Character.MAX_VALUE];
     static {
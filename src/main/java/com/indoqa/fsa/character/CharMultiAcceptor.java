@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static com.indoqa.fsa.character.CharDataAccessor.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.OverlapPolicy;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.utils.CharMatch;
+
+/**
+ * Finds the inputs of several dictionaries in a single traversal.<br/>
+ * <br/>
+ * All inputs are kept in a single automaton, with the ids of the dictionaries containing an input stored after the input like the
+ * output of a {@link CharTransducer}. Finding occurrences or tokens therefore takes the same time as with a single
+ * {@link CharAcceptor}, independent of the number of dictionaries, and every match reports all dictionaries containing it.
+ *
+ * @see CharMultiAcceptorBuilder
+ */
+public class CharMultiAcceptor {
+
+    protected static final char FIRST_DICTIONARY_LABEL = '\uE000';
+    protected static final int MAX_DICTIONARY_COUNT = '\uF8FF' - FIRST_DICTIONARY_LABEL + 1;
+
+    private final CharTransducer transducer;
+    private final CharAcceptor charAcceptor;
+    private final char separator;
+
+    protected CharMultiAcceptor(CharAcceptor charAcceptor, char separator) {
+        super();
+
+        this.charAcceptor = charAcceptor;
+        this.separator = separator;
+        this.transducer = new CharTransducer(charAcceptor, separator);
+    }
+
+    public boolean accepts(CharSequence input) {
+        return this.getNodeIndex(input) != -1;
+    }
+
+    /**
+     * Report all occurrences of the inputs of all dictionaries, see
+     * {@link CharTransducer#forEachOccurrence(CharSequence, int, int, MatchConsumer)}.<br/>
+     * <br/>
+     * The dictionaries containing an occurrence can be obtained with {@link #getDictionaries(int)} and the reported node index.
+     */
+    public void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.transducer.forEachOccurrence(sequence, start, length, consumer);
+    }
+
+    /**
+     * Report all tokens of the inputs of all dictionaries, see
+     * {@link CharAcceptor#forEachToken(CharSequence, int, int, MatchConsumer)}.<br/>
+     * <br/>
+     * The dictionaries containing a token can be obtained with {@link #getDictionaries(int)} and the reported node index.
+     */
+    public void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachToken(sequence, TokenBoundaries.create(sequence, start, length), OverlapPolicy.allOverlapping(), consumer);
+    }
+
+    /**
+     * Performs the same operation as {@link #forEachToken(CharSequence, int, int, MatchConsumer)} on the part of
+     * <code>sequence</code> covered by the given <code>boundaries</code>, only reporting the tokens selected by the given
+     * <code>policy</code>.
+     */
+    public void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+        MatchConsumer tokenEnds = (matchStart, matchEnd, nodeIndex) -> {
+            if (boundaries.isEnd(matchEnd)) {
+                selection.accept(matchStart, matchEnd, nodeIndex);
+            }
+        };
+
+        int end = boundaries.getStart() + boundaries.getLength();
+        for (int i = boundaries.getStart(); i < end; i = Math.max(i + 1, selection.complete())) {
+            if (boundaries.isStart(i)) {
+                this.charAcceptor.forEachPrefix(sequence, i, end - i, this.separator, tokenEnds);
+            }
+        }
+    }
+
+    public List<TaggedToken> getAllOccurrences(CharSequence sequence) {
+        return this.getAllOccurrences(sequence, 0, sequence.length());
+    }
+
+    public List<TaggedToken> getAllOccurrences(CharSequence sequence, int start, int length) {
+        List<TaggedToken> result = new ArrayList<>();
+
+        this.forEachOccurrence(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(new TaggedToken(sequence, matchStart, matchEnd, this.getDictionaries(nodeIndex)));
+        });
+
+        return result;
+    }
+
+    public List<TaggedToken> getAllTokens(CharSequence sequence) {
+        return this.getAllTokens(sequence, 0, sequence.length());
+    }
+
+    public List<TaggedToken> getAllTokens(CharSequence sequence, int start, int length) {
+        List<TaggedToken> result = new ArrayList<>();
+
+        this.forEachToken(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(new TaggedToken(sequence, matchStart, matchEnd, this.getDictionaries(nodeIndex)));
+        });
+
+        return result;
+    }
+
+    /**
+     * @return The ids of all dictionaries containing the given <code>input</code>, which is empty if no dictionary contains it.
+     */
+    public BitSet getDictionaries(CharSequence input) {
+        int nodeIndex = this.getNodeIndex(input);
+        if (nodeIndex == -1) {
+            return new BitSet();
+        }
+
+        return this.getDictionaries(nodeIndex);
+    }
+
+    /**
+     * @param nodeIndex The node index reported to a {@link MatchConsumer} by this {@link CharMultiAcceptor}.
+     * @return The ids of all dictionaries containing the match.
+     */
+    public BitSet getDictionaries(int nodeIndex) {
+        BitSet result = new BitSet();
+
+        char[] data = this.charAcceptor.data;
+        for (int arc = nodeIndex; arc < data.length; arc += NODE_SIZE) {
+            result.set(getLabel(data, arc) - FIRST_DICTIONARY_LABEL);
+
+            if (isLast(data, arc)) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    public int getMaxInputLength() {
+        return this.transducer.getMaxInputLength();
+    }
+
+    private int getNodeIndex(CharSequence input) {
+        CharMatch match = CharMatch.fullMatchRequired();
+
+        this.charAcceptor.getLongestPrefix(input, 0, input.length(), this.separator, match);
+        if (!match.isMatch(input.length())) {
+            return -1;
+        }
+
+        return this.charAcceptor.getNextIndex(this.separator, match.getIndex());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.indoqa.fsa.BuildEstimate;
+
+/**
+ * Builds a {@link CharMultiAcceptor} from the inputs of several dictionaries.<br/>
+ * <br/>
+ * Dictionaries are identified by consecutive ids starting with <code>0</code>. An input can be added to any number of
+ * dictionaries.
+ */
+public class CharMultiAcceptorBuilder {
+
+    private final CharAcceptorBuilder acceptorBuilder;
+    private final char separator;
+
+    public CharMultiAcceptorBuilder(boolean caseSensitive) {
+        this(caseSensitive, CharTransducerBuilder.DEFAULT_SEPARATOR);
+    }
+
+    public CharMultiAcceptorBuilder(boolean caseSensitive, char separator) {
+        super();
+
+        this.separator = separator;
+        this.acceptorBuilder = new CharAcceptorBuilder(caseSensitive);
+        this.acceptorBuilder.setSortFirst(this.separator);
+    }
+
+    public static CharMultiAcceptor read(InputStream inputStream) throws IOException {
+        CharAcceptor charAcceptor = CharAcceptorBuilder.read(inputStream);
+        char separator = (char) (inputStream.read() & 0xFF | (inputStream.read() & 0xFF) << 8);
+
+        return new CharMultiAcceptor(charAcceptor, separator);
+    }
+
+    public void addAcceptedInput(int dictionary, CharSequence... input) {
+        this.addAcceptedInput(dictionary, Arrays.asList(input));
+    }
+
+    /**
+     * Add all given inputs to the dictionary with the given id.
+     *
+     * @param dictionary The id of the dictionary, between <code>0</code> and <code>6399</code>.
+     * @param input The inputs to add.
+     */
+    public void addAcceptedInput(int dictionary, Iterable<? extends CharSequence> input) {
+        if (dictionary < 0 || dictionary >= CharMultiAcceptor.MAX_DICTIONARY_COUNT) {
+            throw new IllegalArgumentException(
+                "The dictionary id must be between 0 and " + (CharMultiAcceptor.MAX_DICTIONARY_COUNT - 1) + ", but was " + dictionary
+                    + ".");
+        }
+
+        char label = (char) (CharMultiAcceptor.FIRST_DICTIONARY_LABEL + dictionary);
+        for (CharSequence eachInput : input) {
+            this.acceptorBuilder.addAcceptedInput(new StringBuilder(eachInput).append(this.separator).append(label));
+        }
+    }
+
+    public CharMultiAcceptor build() {
+        return new CharMultiAcceptor(this.acceptorBuilder.build(), this.separator);
+    }
+
+    public BuildEstimate estimate() {
+        BuildEstimate result = this.acceptorBuilder.estimate();
+
+        // the separator is written after the acceptor
+        result.setFileSize(result.getFileSize() + Character.BYTES);
+
+        return result;
+    }
+
+    public void write(OutputStream outputStream) throws IOException {
+        this.acceptorBuilder.write(outputStream);
+
+        outputStream.write(this.separator);
+        outputStream.write(this.separator >> 8);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+/**
+ * Normalizes single chars while a {@link CharAcceptor} or {@link CharTransducer} is traversed, e.g. for folding diacritics,
+ * expanding ligatures or skipping soft hyphens.<br/>
+ * <br/>
+ * Normalizing during the traversal avoids copying the examined text into a normalized string and mapping the offsets of the
+ * matches back: all matches refer to the original text. The inputs of the {@link CharAcceptor} or {@link CharTransducer} must be
+ * normalized with the same {@link CharNormalizer}, see {@link #normalize(CharSequence)}.
+ *
+ * @see CharAcceptor#normalizing(CharNormalizer)
+ * @see CharTransducer#normalizing(CharNormalizer)
+ */
+@FunctionalInterface
+public interface CharNormalizer {
+
+    /**
+     * Normalize a single char.
+     *
+     * @param c The char to normalize.
+     * @return The chars replacing <code>c</code>, an empty sequence if <code>c</code> is to be skipped, or <code>null</code> if
+     *         <code>c</code> is to be kept unchanged.
+     */
+    CharSequence normalize(char c);
+
+    /**
+     * Normalize all chars of the given <code>sequence</code>, e.g. for normalizing inputs before adding them to a builder.
+     */
+    default String normalize(CharSequence sequence) {
+        StringBuilder result = new StringBuilder(sequence.length());
+
+        for (int i = 0; i < sequence.length(); i++) {
+            char c = sequence.charAt(i);
+
+            CharSequence normalized = this.normalize(c);
+            if (normalized == null) {
+                result.append(c);
+            } else {
+                result.append(normalized);
+            }
+        }
+
+        return result.toString();
+    }
+}
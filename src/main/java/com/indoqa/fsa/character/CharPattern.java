@@ -0,0 +1,569 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static com.indoqa.fsa.character.CharDataAccessor.switchCase;
+
+import java.util.*;
+
+/**
+ * A compiled pattern for finding the accepted inputs of a {@link CharAcceptor} matching it.<br/>
+ * <br/>
+ * The supported syntax is a subset of {@link java.util.regex.Pattern}:
+ * <ul>
+ * <li>literal chars and escaped meta chars like <code>\.</code> or <code>\*</code></li>
+ * <li><code>.</code> for any char and the classes <code>\d</code>, <code>\w</code> and <code>\s</code></li>
+ * <li>character classes like <code>[a-z0-9]</code> and <code>[^ ]</code></li>
+ * <li>groups <code>(...)</code> and alternations <code>a|b</code></li>
+ * <li>the quantifiers <code>*</code>, <code>+</code>, <code>?</code>, <code>{n}</code>, <code>{n,}</code> and
+ * <code>{n,m}</code></li>
+ * </ul>
+ * Patterns are compiled into a nondeterministic automaton, which is turned into a deterministic one lazily, while walking the
+ * graph of a {@link CharAcceptor}. Only the deterministic states that are actually reached are created.
+ *
+ * @see CharAcceptor#getPatternMatches(CharPattern, int)
+ */
+public class CharPattern {
+
+    private static final int MAX_REPETITIONS = 1_000;
+    private static final int MAX_STATES = 100_000;
+
+    private static final char[] ANY = {Character.MIN_VALUE, Character.MAX_VALUE};
+    private static final char[] DIGITS = {'0', '9'};
+    private static final char[] WORD_CHARS = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final char[] WHITESPACES = {'\t', '\r', ' ', ' '};
+
+    private final String pattern;
+
+    private final List<char[]> ranges = new ArrayList<>();
+    private final List<Boolean> negations = new ArrayList<>();
+    private final List<int[]> transitions = new ArrayList<>();
+
+    private final int acceptState;
+    private final int startState;
+
+    private int position;
+
+    private CharPattern(String pattern) {
+        super();
+
+        this.pattern = pattern;
+
+        this.acceptState = this.addState(null, false, new int[0]);
+        this.startState = this.parseAlternation().compile(this, this.acceptState);
+
+        if (this.position < pattern.length()) {
+            throw this.createException("Unexpected '" + pattern.charAt(this.position) + "'");
+        }
+    }
+
+    /**
+     * Compile the given regular expression.
+     *
+     * @throws IllegalArgumentException If the <code>regex</code> is not valid or uses unsupported syntax.
+     */
+    public static CharPattern compile(String regex) {
+        return new CharPattern(regex);
+    }
+
+    /**
+     * Compile the given wildcard expression, where <code>*</code> matches any sequence of chars and <code>?</code> matches any
+     * single char. All other chars match themselves.
+     */
+    public static CharPattern wildcard(String wildcard) {
+        StringBuilder regex = new StringBuilder();
+
+        for (int i = 0; i < wildcard.length(); i++) {
+            char c = wildcard.charAt(i);
+
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (Character.isLetterOrDigit(c)) {
+                regex.append(c);
+            } else {
+                regex.append('\\').append(c);
+            }
+        }
+
+        return new CharPattern(regex.toString());
+    }
+
+    private static boolean contains(char[] ranges, char c) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (c >= ranges[i] && c <= ranges[i + 1]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if the whole <code>sequence</code> matches this pattern.
+     */
+    public boolean matches(CharSequence sequence, boolean caseSensitive) {
+        State state = this.createInitialState(caseSensitive);
+
+        for (int i = 0; i < sequence.length() && !state.isDead(); i++) {
+            state = state.getNext(sequence.charAt(i));
+        }
+
+        return state.isAccepting();
+    }
+
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+
+    /**
+     * Create the initial state of a new deterministic automaton, whose states are created on demand.
+     */
+    protected State createInitialState(boolean caseSensitive) {
+        return new Automaton(caseSensitive).getInitialState();
+    }
+
+    private int addState(char[] stateRanges, boolean negated, int[] stateTransitions) {
+        // nested repetitions multiply the number of states, e.g. (a{1000}){1000}
+        if (this.transitions.size() == MAX_STATES) {
+            throw this.createException("More than " + MAX_STATES + " states");
+        }
+
+        this.ranges.add(stateRanges);
+        this.negations.add(negated);
+        this.transitions.add(stateTransitions);
+        return this.transitions.size() - 1;
+    }
+
+    private IllegalArgumentException createException(String message) {
+        return new IllegalArgumentException(message + " at index " + this.position + " in pattern '" + this.pattern + "'.");
+    }
+
+    private boolean hasNext() {
+        return this.position < this.pattern.length();
+    }
+
+    private boolean isMatching(int state, char c) {
+        return contains(this.ranges.get(state), c) != this.negations.get(state);
+    }
+
+    private char next() {
+        if (!this.hasNext()) {
+            throw this.createException("Unexpected end");
+        }
+
+        return this.pattern.charAt(this.position++);
+    }
+
+    private Node parseAlternation() {
+        Node result = this.parseConcatenation();
+
+        while (this.hasNext() && this.peek() == '|') {
+            this.position++;
+            result = Node.alternation(result, this.parseConcatenation());
+        }
+
+        return result;
+    }
+
+    private Node parseAtom() {
+        char c = this.next();
+
+        switch (c) {
+            case '(':
+                Node group = this.parseAlternation();
+                if (this.next() != ')') {
+                    this.position--;
+                    throw this.createException("Expected ')'");
+                }
+                return group;
+
+            case '[':
+                return this.parseCharClass();
+
+            case '.':
+                return Node.chars(ANY, false);
+
+            case '\\':
+                return this.parseEscape(this.next());
+
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+            case ')':
+            case '|':
+                this.position--;
+                throw this.createException("Unexpected '" + c + "'");
+
+            default:
+                return Node.chars(new char[] {c, c}, false);
+        }
+    }
+
+    private Node parseCharClass() {
+        boolean negated = this.hasNext() && this.peek() == '^';
+        if (negated) {
+            this.position++;
+        }
+
+        StringBuilder classRanges = new StringBuilder();
+
+        boolean first = true;
+        while (first || this.peek() != ']') {
+            first = false;
+            char c = this.next();
+
+            if (c == '\\') {
+                char escaped = this.next();
+                Node escapeNode = this.parseEscape(escaped);
+                if (escapeNode.negated) {
+                    throw this.createException("Negated class '\\" + escaped + "' inside of character class");
+                }
+                classRanges.append(escapeNode.ranges);
+                continue;
+            }
+
+            char to = c;
+            if (this.peek() == '-' && this.position + 1 < this.pattern.length() && this.pattern.charAt(this.position + 1) != ']') {
+                this.position++;
+                to = this.next();
+                if (to == '\\') {
+                    to = this.next();
+                }
+                if (to < c) {
+                    throw this.createException("Illegal range '" + c + "-" + to + "'");
+                }
+            }
+            classRanges.append(c).append(to);
+        }
+        this.position++;
+
+        return Node.chars(classRanges.toString().toCharArray(), negated);
+    }
+
+    private Node parseConcatenation() {
+        Node result = Node.empty();
+
+        while (this.hasNext() && this.peek() != '|' && this.peek() != ')') {
+            result = Node.concatenation(result, this.parseRepetition());
+        }
+
+        return result;
+    }
+
+    private Node parseEscape(char c) {
+        switch (c) {
+            case 'd':
+                return Node.chars(DIGITS, false);
+            case 'D':
+                return Node.chars(DIGITS, true);
+            case 'w':
+                return Node.chars(WORD_CHARS, false);
+            case 'W':
+                return Node.chars(WORD_CHARS, true);
+            case 's':
+                return Node.chars(WHITESPACES, false);
+            case 'S':
+                return Node.chars(WHITESPACES, true);
+            case 't':
+                return Node.chars(new char[] {'\t', '\t'}, false);
+            case 'n':
+                return Node.chars(new char[] {'\n', '\n'}, false);
+            case 'r':
+                return Node.chars(new char[] {'\r', '\r'}, false);
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    this.position--;
+                    throw this.createException("Unsupported escape sequence '\\" + c + "'");
+                }
+                return Node.chars(new char[] {c, c}, false);
+        }
+    }
+
+    private int parseNumber() {
+        int start = this.position;
+        while (this.hasNext() && Character.isDigit(this.peek())) {
+            this.position++;
+        }
+
+        if (start == this.position) {
+            throw this.createException("Expected a number");
+        }
+
+        int result = Integer.parseInt(this.pattern.substring(start, this.position));
+        if (result > MAX_REPETITIONS) {
+            throw this.createException("More than " + MAX_REPETITIONS + " repetitions");
+        }
+        return result;
+    }
+
+    private Node parseRepetition() {
+        Node result = this.parseAtom();
+
+        while (this.hasNext()) {
+            char c = this.peek();
+
+            if (c == '*') {
+                result = Node.repetition(result, 0, -1);
+            } else if (c == '+') {
+                result = Node.repetition(result, 1, -1);
+            } else if (c == '?') {
+                result = Node.repetition(result, 0, 1);
+            } else if (c == '{') {
+                this.position++;
+                int min = this.parseNumber();
+                int max = min;
+                if (this.peek() == ',') {
+                    this.position++;
+                    max = this.peek() == '}' ? -1 : this.parseNumber();
+                }
+                if (this.peek() != '}') {
+                    throw this.createException("Expected '}'");
+                }
+                if (max != -1 && max < min) {
+                    throw this.createException("Illegal repetition {" + min + "," + max + "}");
+                }
+                result = Node.repetition(result, min, max);
+            } else {
+                break;
+            }
+
+            this.position++;
+        }
+
+        return result;
+    }
+
+    private char peek() {
+        if (!this.hasNext()) {
+            throw this.createException("Unexpected end");
+        }
+
+        return this.pattern.charAt(this.position);
+    }
+
+    /**
+     * A state of the deterministic automaton, representing the set of states of the nondeterministic automaton that can be reached
+     * with the chars seen so far.
+     */
+    protected static final class State {
+
+        private final Automaton automaton;
+        private final BitSet states;
+        private final boolean accepting;
+        private final Map<Character, State> nextStates = new HashMap<>();
+
+        protected State(Automaton automaton, BitSet states, boolean accepting) {
+            super();
+
+            this.automaton = automaton;
+            this.states = states;
+            this.accepting = accepting;
+        }
+
+        /**
+         * @return The state after the given char, which is {@link #isDead() dead} if no match can contain the char at this position.
+         */
+        public State getNext(char c) {
+            State result = this.nextStates.get(c);
+
+            if (result == null) {
+                result = this.automaton.getState(this.automaton.move(this.states, c));
+                this.nextStates.put(c, result);
+            }
+
+            return result;
+        }
+
+        public boolean isAccepting() {
+            return this.accepting;
+        }
+
+        public boolean isDead() {
+            return this.states.isEmpty();
+        }
+    }
+
+    private static final class Node {
+
+        private static final int CHARS = 0;
+        private static final int CONCATENATION = 1;
+        private static final int ALTERNATION = 2;
+        private static final int REPETITION = 3;
+        private static final int EMPTY = 4;
+
+        private final int type;
+
+        private char[] ranges;
+        private boolean negated;
+        private Node first;
+        private Node second;
+        private int min;
+        private int max;
+
+        private Node(int type) {
+            super();
+
+            this.type = type;
+        }
+
+        public static Node alternation(Node first, Node second) {
+            Node result = new Node(ALTERNATION);
+            result.first = first;
+            result.second = second;
+            return result;
+        }
+
+        public static Node chars(char[] ranges, boolean negated) {
+            Node result = new Node(CHARS);
+            result.ranges = ranges;
+            result.negated = negated;
+            return result;
+        }
+
+        public static Node concatenation(Node first, Node second) {
+            if (first.type == EMPTY) {
+                return second;
+            }
+
+            Node result = new Node(CONCATENATION);
+            result.first = first;
+            result.second = second;
+            return result;
+        }
+
+        public static Node empty() {
+            return new Node(EMPTY);
+        }
+
+        public static Node repetition(Node node, int min, int max) {
+            Node result = new Node(REPETITION);
+            result.first = node;
+            result.min = min;
+            result.max = max;
+            return result;
+        }
+
+        /**
+         * Add the states for this node, which continue with the given <code>target</code> state.
+         *
+         * @return The state to start with.
+         */
+        public int compile(CharPattern pattern, int target) {
+            switch (this.type) {
+                case CHARS:
+                    return pattern.addState(this.ranges, this.negated, new int[] {target});
+
+                case CONCATENATION:
+                    return this.first.compile(pattern, this.second.compile(pattern, target));
+
+                case ALTERNATION:
+                    int[] alternatives = {this.first.compile(pattern, target), this.second.compile(pattern, target)};
+                    return pattern.addState(null, false, alternatives);
+
+                case REPETITION:
+                    return this.compileRepetition(pattern, target);
+
+                default:
+                    return target;
+            }
+        }
+
+        private int compileRepetition(CharPattern pattern, int target) {
+            int result;
+
+            if (this.max == -1) {
+                // the loop state can only be connected after the repeated node has been compiled
+                int[] loopTransitions = new int[2];
+                result = pattern.addState(null, false, loopTransitions);
+                loopTransitions[0] = this.first.compile(pattern, result);
+                loopTransitions[1] = target;
+            } else {
+                result = target;
+                for (int i = this.min; i < this.max; i++) {
+                    result = pattern.addState(null, false, new int[] {this.first.compile(pattern, result), target});
+                }
+            }
+
+            for (int i = 0; i < this.min; i++) {
+                result = this.first.compile(pattern, result);
+            }
+
+            return result;
+        }
+    }
+
+    private final class Automaton {
+
+        private final boolean caseSensitive;
+        private final Map<BitSet, State> states = new HashMap<>();
+        private final State initialState;
+
+        public Automaton(boolean caseSensitive) {
+            super();
+
+            this.caseSensitive = caseSensitive;
+
+            BitSet initialStates = new BitSet();
+            this.addClosure(initialStates, CharPattern.this.startState);
+            this.initialState = this.getState(initialStates);
+        }
+
+        public State getInitialState() {
+            return this.initialState;
+        }
+
+        public State getState(BitSet nfaStates) {
+            return this.states
+                .computeIfAbsent(nfaStates, key -> new State(this, key, key.get(CharPattern.this.acceptState)));
+        }
+
+        public BitSet move(BitSet nfaStates, char c) {
+            BitSet result = new BitSet();
+
+            for (int state = nfaStates.nextSetBit(0); state >= 0; state = nfaStates.nextSetBit(state + 1)) {
+                if (CharPattern.this.ranges.get(state) == null) {
+                    continue;
+                }
+
+                boolean matching = CharPattern.this.isMatching(state, c);
+                if (matching || !this.caseSensitive && CharPattern.this.isMatching(state, switchCase(c))) {
+                    this.addClosure(result, CharPattern.this.transitions.get(state)[0]);
+                }
+            }
+
+            return result;
+        }
+
+        private void addClosure(BitSet nfaStates, int state) {
+            if (nfaStates.get(state)) {
+                return;
+            }
+
+            nfaStates.set(state);
+
+            if (CharPattern.this.ranges.get(state) == null) {
+                for (int eachTransition : CharPattern.this.transitions.get(state)) {
+                    this.addClosure(nfaStates, eachTransition);
+                }
+            }
+        }
+    }
+}
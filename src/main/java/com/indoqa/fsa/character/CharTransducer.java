@@ -16,15 +16,21 @@
  */
 package com.indoqa.fsa.character;
 
+import static com.indoqa.fsa.character.CharDataAccessor.getTarget;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.OverlapPolicy;
 import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.TokenList;
 import com.indoqa.fsa.Transducer;
 import com.indoqa.fsa.utils.CharMatch;
-import com.indoqa.fsa.utils.EncodingUtils;
 import com.indoqa.fsa.utils.TokenCandidate;
 
 public class CharTransducer implements Transducer {
@@ -32,6 +38,8 @@ public class CharTransducer implements Transducer {
     private final CharAcceptor charAcceptor;
 
     private char separator;
+    private int maxInputLength = -1;
+    private volatile StartFilter startFilter;
 
     public CharTransducer(CharAcceptor charAcceptor, char separator) {
         super();
@@ -49,47 +57,108 @@ public class CharTransducer implements Transducer {
         return -1;
     }
 
+    /**
+     * Create an {@link AcceptorCursor} for advancing through the inputs of this {@link CharTransducer} one char at a time.<br/>
+     * <br/>
+     * The cursor is {@link AcceptorCursor#isTerminal() terminal} for inputs with an output, which is available with
+     * {@link AcceptorCursor#output()}.
+     *
+     * @return A new {@link AcceptorCursor} in its initial state.
+     */
+    public AcceptorCursor createCursor() {
+        return new AcceptorCursor(this.charAcceptor, this.separator);
+    }
+
+    /**
+     * Report all inputs with their outputs in the same order as {@link #iterator()}, but without creating any objects per
+     * entry.<br/>
+     * <br/>
+     * The input of each entry ends at the <code>separatorIndex</code> reported to the <code>consumer</code>, the output starts
+     * after it.
+     *
+     * @see CharBufferConsumer
+     */
+    public void forEach(CharBufferConsumer consumer) {
+        this.charAcceptor.forEach(this.separator, consumer);
+    }
+
     @Override
-    public List<Token> getAllMatches(CharSequence sequence, int start, int length, List<Token> result) {
-        this.charAcceptor.getAllPrefixes(sequence, start, length, this.separator, result);
+    public void forEachMatch(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.charAcceptor.forEachPrefix(sequence, start, length, this.separator, consumer);
+    }
 
-        CharMatch charMatch = CharMatch.partialMatchAllowed();
-        for (Token token : result) {
-            CharSequence transduce = this.transduce(token.getValue(), 0, token.getLength(), charMatch);
-            token.setValue(transduce.toString());
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        StartFilter filter = this.getStartFilter();
+        int end = start + length;
+
+        for (int i = start; i < end; i++) {
+            if (filter.isCandidate(sequence, i, end)) {
+                this.forEachMatch(sequence, i, end - i, consumer);
+            }
         }
+    }
 
-        return result;
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+        StartFilter filter = this.getStartFilter();
+        int end = start + length;
+
+        for (int i = start; i < end; i = Math.max(i + 1, selection.complete())) {
+            if (filter.isCandidate(sequence, i, end)) {
+                this.forEachMatch(sequence, i, end - i, selection);
+            }
+        }
     }
 
     @Override
-    public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
-        List<Token> result = null;
+    public void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachToken(sequence, start, length, OverlapPolicy.allOverlapping(), consumer);
+    }
 
+    @Override
+    public void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
         CharMatch charMatch = CharMatch.partialMatchAllowed();
+        StartFilter filter = this.getStartFilter();
+        int end = boundaries.getStart() + boundaries.getLength();
 
-        for (int i = start; i < start + length; i++) {
-            if (!EncodingUtils.isTokenStart(sequence, i)) {
+        for (int i = boundaries.getStart(); i < end; i = Math.max(i + 1, selection.complete())) {
+            if (!boundaries.isStart(i) || !filter.isCandidate(sequence, i, end)) {
                 continue;
             }
 
-            CharSequence translated = this.transduceToken(sequence, i, length - i, charMatch);
-            if (translated == null) {
+            this.charAcceptor.getLongestTokenPrefix(sequence, i, boundaries, this.separator, charMatch);
+            if (!charMatch.isMatch(end - i)) {
                 continue;
             }
 
-            if (result == null) {
-                result = new ArrayList<>();
+            int index = this.charAcceptor.getNextIndex(this.separator, charMatch.getIndex());
+            if (index == -1) {
+                continue;
             }
 
-            Token token = Token.create(i, sequence.subSequence(i, i + charMatch.getLength()).toString());
-            token.setValue(translated.toString());
-            result.add(token);
+            selection.accept(i, i + charMatch.getLength(), index);
         }
+    }
 
-        if (result == null) {
-            return Collections.emptyList();
-        }
+    @Override
+    public List<Token> getAllMatches(CharSequence sequence, int start, int length, List<Token> result) {
+        this.forEachMatch(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd, this, nodeIndex));
+        });
+
+        return result;
+    }
+
+    @Override
+    public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
+        List<Token> result = new ArrayList<>();
+
+        this.forEachToken(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd, this, nodeIndex));
+        });
 
         return result;
     }
@@ -99,22 +168,18 @@ public class CharTransducer implements Transducer {
             return Collections.emptyList();
         }
 
-        List<Token> result = new ArrayList<>();
-
-        List<String> completions = this.charAcceptor.getCompletions(sequence, maxCount);
-        for (String eachCompletion : completions) {
-            int index = getIndex(eachCompletion, this.separator);
-            if (index == -1) {
-                // no separator, should not happen
-                continue;
-            }
-
-            Token token = Token.create(0, eachCompletion.substring(0, index));
-            token.setValue(eachCompletion.substring(index + 1));
-            result.add(token);
-        }
+        return this.createCompletionTokens(this.charAcceptor.getCompletions(sequence, maxCount));
+    }
 
-        return result;
+    /**
+     * Find all inputs within a Levenshtein distance of <code>maxEdits</code> of the given <code>sequence</code>, together with their
+     * outputs.
+     *
+     * @return The matches ordered by their distance.
+     * @see CharAcceptor#getFuzzyMatches(CharSequence, int)
+     */
+    public List<FuzzyMatch> getFuzzyMatches(CharSequence sequence, int maxEdits) {
+        return this.charAcceptor.getFuzzyMatches(sequence, maxEdits, this.separator);
     }
 
     @Override
@@ -133,18 +198,60 @@ public class CharTransducer implements Transducer {
 
     @Override
     public List<Token> getLongestOccurrences(CharSequence sequence) {
-        return TokenCandidate.eliminateOverlapping(this.getAllOccurrences(sequence));
+        TokenList tokens = this.getAllOccurrences(sequence, 0, sequence.length(), new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence, this);
     }
 
     @Override
     public List<Token> getLongestTokens(CharSequence sequence) {
-        return TokenCandidate.eliminateOverlapping(this.getAllTokens(sequence));
+        TokenList tokens = this.getAllTokens(sequence, 0, sequence.length(), new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence, this);
+    }
+
+    @Override
+    public int getMaxInputLength() {
+        if (this.maxInputLength == -1) {
+            this.maxInputLength = this.charAcceptor.getMaxLength(this.separator);
+        }
+
+        return this.maxInputLength;
+    }
+
+    @Override
+    public CharSequence getOutput(int nodeIndex) {
+        return this.charAcceptor.getInput(nodeIndex);
+    }
+
+    /**
+     * Find at most <code>maxCount</code> inputs starting with the given <code>sequence</code> together with their outputs,
+     * ordered by their weight.
+     *
+     * @see CharAcceptor#getTopCompletions(CharSequence, int)
+     * @see CharTransducerBuilder#add(String, String, int)
+     */
+    public List<Token> getTopCompletions(CharSequence sequence, int maxCount) {
+        if (maxCount < 1) {
+            return Collections.emptyList();
+        }
+
+        return this.createCompletionTokens(this.charAcceptor.getTopCompletions(sequence, maxCount));
     }
 
     public Iterator<Token> iterator() {
         return new TransducerIterator(this.charAcceptor.iterator(), this.separator);
     }
 
+    /**
+     * Get a view of this {@link CharTransducer} that normalizes the examined text with the given <code>normalizer</code> while
+     * traversing the graph, without copying the text. The inputs of this {@link CharTransducer} must have been normalized with the
+     * same <code>normalizer</code>.
+     *
+     * @see CharNormalizer
+     */
+    public Transducer normalizing(CharNormalizer normalizer) {
+        return new NormalizingTransducer(this.charAcceptor, this.separator, normalizer);
+    }
+
     @Override
     public CharSequence transduce(CharSequence sequence, CharSequence defaultValue) {
         CharSequence transduced = this.transduce(sequence, 0, sequence.length(), CharMatch.fullMatchRequired());
@@ -160,23 +267,68 @@ public class CharTransducer implements Transducer {
         return this.transduce(sequence, start, length, CharMatch.fullMatchRequired());
     }
 
-    private CharSequence transduce(CharSequence sequence, int start, int length, CharMatch match) {
-        this.charAcceptor.getLongestPrefix(sequence, start, length, this.separator, match);
+    /**
+     * Performs the same operation as {@link #transduce(CharSequence, int, int)} for all given <code>inputs</code>.<br/>
+     * <br/>
+     * The inputs are processed in sorted order, so that the traversal of a common prefix is shared with the previous input.
+     *
+     * @param inputs The inputs to transduce.
+     * @param result Receives the transduction of each input at the index of the input, or <code>null</code> if the input is not
+     *            transducible. Must be at least as long as <code>inputs</code>.
+     */
+    public void transduceAll(CharSequence[] inputs, CharSequence[] result) {
+        int[] arcs = this.charAcceptor.getFinalArcs(inputs);
+
+        for (int i = 0; i < inputs.length; i++) {
+            result[i] = null;
+
+            if (arcs[i] == -1) {
+                continue;
+            }
 
-        if (!match.isMatch(length)) {
-            return null;
+            int node = getTarget(this.charAcceptor.data, arcs[i]);
+            if (node == 0) {
+                continue;
+            }
+
+            int index = this.charAcceptor.getNextIndex(this.separator, node);
+            if (index != -1) {
+                result[i] = this.charAcceptor.getInput(index);
+            }
+        }
+    }
+
+    private List<Token> createCompletionTokens(List<String> completions) {
+        List<Token> result = new ArrayList<>();
+
+        for (String eachCompletion : completions) {
+            int index = getIndex(eachCompletion, this.separator);
+            if (index == -1) {
+                // no separator, should not happen
+                continue;
+            }
+
+            Token token = Token.create(0, eachCompletion.substring(0, index));
+            token.setValue(eachCompletion.substring(index + 1));
+            result.add(token);
         }
 
-        int index = this.charAcceptor.getNextIndex(this.separator, match.getIndex());
-        if (index == -1) {
-            return null;
+        return result;
+    }
+
+    private StartFilter getStartFilter() {
+        StartFilter result = this.startFilter;
+
+        if (result == null) {
+            result = new StartFilter(this.charAcceptor, this.separator);
+            this.startFilter = result;
         }
 
-        return this.charAcceptor.getInput(index);
+        return result;
     }
 
-    private CharSequence transduceToken(CharSequence sequence, int start, int length, CharMatch match) {
-        this.charAcceptor.getLongestTokenPrefix(sequence, start, length, this.separator, match);
+    private CharSequence transduce(CharSequence sequence, int start, int length, CharMatch match) {
+        this.charAcceptor.getLongestPrefix(sequence, start, length, this.separator, match);
 
         if (!match.isMatch(length)) {
             return null;
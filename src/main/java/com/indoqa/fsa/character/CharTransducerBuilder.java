@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
+import com.indoqa.fsa.BuildEstimate;
 import com.indoqa.fsa.TransducerBuilder;
 
 public class CharTransducerBuilder implements TransducerBuilder {
@@ -80,20 +81,20 @@ public class CharTransducerBuilder implements TransducerBuilder {
         List<Integer> nodes = new ArrayList<>();
 
         for (CharSequence eachInput : input) {
-            nodes.add(this.acceptorBuilder.addAcceptedInput(eachInput, 0, eachInput.length(), 0, false));
+            nodes.add(this.acceptorBuilder.addAcceptedInput(eachInput, 0, eachInput.length(), 0, false, 0));
         }
 
         if (nodes.isEmpty()) {
             return;
         }
 
-        int separatorNode = this.acceptorBuilder.addAcceptedInput(String.valueOf(this.separator), 0, 1, nodes.get(0), false);
+        int separatorNode = this.acceptorBuilder.addAcceptedInput(String.valueOf(this.separator), 0, 1, nodes.get(0), false, 0);
 
         for (int i = 1; i < nodes.size(); i++) {
             this.acceptorBuilder.addArc(nodes.get(i), this.separator, separatorNode, false);
         }
 
-        this.acceptorBuilder.addAcceptedInput(output, 0, output.length(), separatorNode, true);
+        this.acceptorBuilder.addAcceptedInput(output, 0, output.length(), separatorNode, true, 0);
     }
 
     @Override
@@ -101,12 +102,32 @@ public class CharTransducerBuilder implements TransducerBuilder {
         this.acceptorBuilder.addAcceptedInput(input + this.separator + output);
     }
 
+    /**
+     * Add an input and its output with a weight for ranking completions.
+     *
+     * @see CharAcceptorBuilder#addWeightedInput(CharSequence, int)
+     * @see CharTransducer#getTopCompletions(CharSequence, int)
+     */
+    public void add(String input, String output, int weight) {
+        this.acceptorBuilder.addWeightedInput(input + this.separator + output, weight);
+    }
+
     @Override
     public CharTransducer build() {
         CharAcceptor charAcceptor = this.acceptorBuilder.build();
         return new CharTransducer(charAcceptor, this.separator);
     }
 
+    @Override
+    public BuildEstimate estimate() {
+        BuildEstimate result = this.acceptorBuilder.estimate();
+
+        // the separator is written after the acceptor
+        result.setFileSize(result.getFileSize() + Character.BYTES);
+
+        return result;
+    }
+
     public void setAbortSupplier(BooleanSupplier abortSupplier) {
         this.acceptorBuilder.setAbortSupplier(abortSupplier);
     }
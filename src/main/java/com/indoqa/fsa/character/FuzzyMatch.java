@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+/**
+ * An input of a {@link CharAcceptor} or {@link CharTransducer} within a limited edit distance of a looked up sequence.
+ *
+ * @see CharAcceptor#getFuzzyMatches(CharSequence, int)
+ * @see CharTransducer#getFuzzyMatches(CharSequence, int)
+ */
+public class FuzzyMatch {
+
+    private final String input;
+    private final String output;
+    private final int distance;
+
+    protected FuzzyMatch(String input, String output, int distance) {
+        super();
+
+        this.input = input;
+        this.output = output;
+        this.distance = distance;
+    }
+
+    /**
+     * @return The Levenshtein distance (insertions, deletions and substitutions of single chars) between the looked up sequence and
+     *         the {@link #getInput() input}.
+     */
+    public int getDistance() {
+        return this.distance;
+    }
+
+    public String getInput() {
+        return this.input;
+    }
+
+    /**
+     * @return The output of the {@link #getInput() input} or <code>null</code> if the match was found by a {@link CharAcceptor}.
+     */
+    public String getOutput() {
+        return this.output;
+    }
+
+    @Override
+    public String toString() {
+        if (this.output == null) {
+            return this.input + " (" + this.distance + ")";
+        }
+
+        return this.input + " -> " + this.output + " (" + this.distance + ")";
+    }
+}
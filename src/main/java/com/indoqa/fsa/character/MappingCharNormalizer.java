@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+
+/**
+ * A {@link CharNormalizer} replacing or skipping individual chars as configured with {@link #map(char, String)} and
+ * {@link #skip(char...)}.<br/>
+ * <br/>
+ * The replacements are kept in a two-level table, so normalizing a char only requires two array lookups.
+ */
+public class MappingCharNormalizer implements CharNormalizer {
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+    private static final char[] INVISIBLE_CHARS = {'\u00AD', '\u200B', '\u200C', '\u200D', '\u2060', '\uFEFF'};
+    private static final char FIRST_COMBINING_MARK = '\u0300';
+    private static final char LAST_COMBINING_MARK = '\u036F';
+    private static final char FIRST_LIGATURE = '\uFB00';
+    private static final String[] LIGATURES = {"ff", "fi", "fl", "ffi", "ffl", "st", "st"};
+
+    private final String[][] pages = new String[(Character.MAX_VALUE >> PAGE_BITS) + 1][];
+
+    /**
+     * Create a {@link MappingCharNormalizer} that skips soft hyphens and zero-width chars, expands the Latin ligatures (e.g.
+     * <code>&#xFB01;</code> to <code>fi</code>) and removes the diacritics of all Latin letters (e.g. <code>&auml;</code> to
+     * <code>a</code>), including separate combining diacritical marks.
+     */
+    public static MappingCharNormalizer createDefault() {
+        MappingCharNormalizer result = new MappingCharNormalizer();
+
+        result.skip(INVISIBLE_CHARS);
+        for (char c = FIRST_COMBINING_MARK; c <= LAST_COMBINING_MARK; c++) {
+            result.skip(c);
+        }
+
+        for (int i = 0; i < LIGATURES.length; i++) {
+            result.map((char) (FIRST_LIGATURE + i), LIGATURES[i]);
+        }
+
+        // Latin-1 Supplement, Latin Extended-A and Latin Extended-B
+        for (char c = '\u00C0'; c <= '\u024F'; c++) {
+            String folded = Normalizer.normalize(String.valueOf(c), Form.NFD).replaceAll("\\p{M}", "");
+            if (folded.length() == 1 && folded.charAt(0) != c) {
+                result.map(c, folded);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Replace <code>c</code> with the given <code>replacement</code>, which may be empty for skipping <code>c</code>.
+     *
+     * @return This {@link MappingCharNormalizer}.
+     */
+    public MappingCharNormalizer map(char c, String replacement) {
+        String[] page = this.pages[c >> PAGE_BITS];
+        if (page == null) {
+            page = new String[PAGE_MASK + 1];
+            this.pages[c >> PAGE_BITS] = page;
+        }
+
+        page[c & PAGE_MASK] = replacement;
+        return this;
+    }
+
+    @Override
+    public CharSequence normalize(char c) {
+        String[] page = this.pages[c >> PAGE_BITS];
+        if (page == null) {
+            return null;
+        }
+
+        return page[c & PAGE_MASK];
+    }
+
+    /**
+     * Skip all given chars.
+     *
+     * @return This {@link MappingCharNormalizer}.
+     */
+    public MappingCharNormalizer skip(char... chars) {
+        for (char eachChar : chars) {
+            this.map(eachChar, "");
+        }
+
+        return this;
+    }
+}
@@ -21,11 +21,17 @@ import java.util.Arrays;
 public class NodeReference implements Comparable<NodeReference> {
 
     private final char[] data;
+    private final int[] weights;
     private final int index;
 
     public NodeReference(char[] data, int index) {
+        this(data, null, index);
+    }
+
+    public NodeReference(char[] data, int[] weights, int index) {
         super();
         this.data = data;
+        this.weights = weights;
         this.index = index;
     }
 
@@ -49,6 +55,16 @@ public class NodeReference implements Comparable<NodeReference> {
             }
         }
 
+        if (this.weights != null) {
+            // nodes with the same data and weights must be adjacent when sorted
+            for (int i = 0; i < this.weights.length; i++) {
+                int result = Integer.compare(this.weights[i], other.weights[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+        }
+
         return Integer.compare(this.index, other.index);
     }
 
@@ -59,7 +75,7 @@ public class NodeReference implements Comparable<NodeReference> {
         }
 
         NodeReference other = (NodeReference) obj;
-        return Arrays.equals(this.data, other.data);
+        return Arrays.equals(this.data, other.data) && Arrays.equals(this.weights, other.weights);
     }
 
     public char[] getData() {
@@ -70,8 +86,12 @@ public class NodeReference implements Comparable<NodeReference> {
         return this.index;
     }
 
+    public int[] getWeights() {
+        return this.weights;
+    }
+
     @Override
     public int hashCode() {
-        return Arrays.hashCode(this.data);
+        return Arrays.hashCode(this.data) * 31 + Arrays.hashCode(this.weights);
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static com.indoqa.fsa.character.CharDataAccessor.*;
+
+import com.indoqa.fsa.MatchConsumer;
+
+/**
+ * A view of a {@link CharAcceptor} that normalizes the examined text with a {@link CharNormalizer} during the traversal, see
+ * {@link CharAcceptor#normalizing(CharNormalizer)}.<br/>
+ * <br/>
+ * Matches always refer to the original text. A match never starts with a skipped char and never ends with one, unless the skipped
+ * char is followed by a char that completes the match.
+ */
+public class NormalizingAcceptor extends CharAcceptorView {
+
+    private final CharAcceptor charAcceptor;
+    private final CharNormalizer normalizer;
+
+    protected NormalizingAcceptor(CharAcceptor charAcceptor, CharNormalizer normalizer) {
+        super();
+
+        this.charAcceptor = charAcceptor;
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * Since skipped chars make a match span more chars than the accepted input, the length of a match is not limited.
+     *
+     * @return {@link Integer#MAX_VALUE}
+     */
+    @Override
+    public int getMaxInputLength() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected int traverse(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        return this.traverse(sequence, start, length, -1, consumer);
+    }
+
+    /**
+     * Walk the graph along the normalized chars of the given part of the <code>sequence</code>.
+     *
+     * @param separator The separator of a {@link CharTransducer} for reporting the output node of every input followed by the
+     *            separator, or <code>-1</code> for reporting the arc of every accepted input.
+     * @param consumer Receives every match, can be <code>null</code>.
+     * @return The end of the longest match or <code>-1</code> if there is none.
+     */
+    protected int traverse(CharSequence sequence, int start, int length, int separator, MatchConsumer consumer) {
+        char[] data = this.charAcceptor.data;
+        boolean caseSensitive = this.charAcceptor.isCaseSensitive();
+
+        int result = -1;
+        int node = 0;
+
+        for (int i = start; i < start + length; i++) {
+            char c = sequence.charAt(i);
+            CharSequence normalized = this.normalizer.normalize(c);
+
+            int count = normalized == null ? 1 : normalized.length();
+            if (count == 0) {
+                if (i == start) {
+                    break;
+                }
+
+                continue;
+            }
+
+            int arc = -1;
+            int consumed = 0;
+            while (consumed < count && node != -1) {
+                arc = getArc(data, node, normalized == null ? c : normalized.charAt(consumed), caseSensitive);
+                if (arc == -1) {
+                    break;
+                }
+
+                int target = getTarget(data, arc);
+                node = target == 0 ? -1 : target;
+                consumed++;
+            }
+
+            if (consumed < count) {
+                break;
+            }
+
+            int match = this.getMatch(data, arc, node, separator, caseSensitive);
+            if (match != -1) {
+                result = i + 1;
+
+                if (consumer != null) {
+                    consumer.accept(start, i + 1, match);
+                }
+            }
+
+            if (node == -1) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    private int getMatch(char[] data, int arc, int node, int separator, boolean caseSensitive) {
+        if (separator == -1) {
+            return isTerminal(data, arc) ? arc : -1;
+        }
+
+        if (node == -1) {
+            return -1;
+        }
+
+        int separatorArc = getArc(data, node, (char) separator, caseSensitive);
+        if (separatorArc == -1) {
+            return -1;
+        }
+
+        return getTarget(data, separatorArc);
+    }
+}
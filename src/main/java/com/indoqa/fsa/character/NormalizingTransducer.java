@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.OverlapPolicy;
+import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.TokenList;
+import com.indoqa.fsa.Transducer;
+import com.indoqa.fsa.utils.TokenCandidate;
+
+/**
+ * A view of a {@link CharTransducer} that normalizes the examined text with a {@link CharNormalizer} during the traversal, see
+ * {@link CharTransducer#normalizing(CharNormalizer)}.<br/>
+ * <br/>
+ * Matches always refer to the original text, their values are the outputs of the {@link CharTransducer}.
+ *
+ * @see NormalizingAcceptor
+ */
+public class NormalizingTransducer implements Transducer {
+
+    private final CharAcceptor charAcceptor;
+    private final NormalizingAcceptor normalizingAcceptor;
+    private final char separator;
+
+    protected NormalizingTransducer(CharAcceptor charAcceptor, char separator, CharNormalizer normalizer) {
+        super();
+
+        this.charAcceptor = charAcceptor;
+        this.normalizingAcceptor = new NormalizingAcceptor(charAcceptor, normalizer);
+        this.separator = separator;
+    }
+
+    @Override
+    public void forEachMatch(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.normalizingAcceptor.traverse(sequence, start, length, this.separator, consumer);
+    }
+
+    @Override
+    public void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachToken(sequence, TokenBoundaries.create(sequence, start, length), OverlapPolicy.allOverlapping(), consumer);
+    }
+
+    /**
+     * Like {@link CharTransducer#forEachToken(CharSequence, TokenBoundaries, OverlapPolicy, MatchConsumer)}, only the longest token
+     * at every token start is considered.
+     */
+    @Override
+    public void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+        TokenList longestToken = new TokenList(1);
+        MatchConsumer tokenEnds = (matchStart, matchEnd, nodeIndex) -> {
+            if (boundaries.isEnd(matchEnd)) {
+                longestToken.clear();
+                longestToken.add(matchStart, matchEnd, nodeIndex);
+            }
+        };
+
+        int end = boundaries.getStart() + boundaries.getLength();
+        for (int i = boundaries.getStart(); i < end; i = Math.max(i + 1, selection.complete())) {
+            if (!boundaries.isStart(i)) {
+                continue;
+            }
+
+            longestToken.clear();
+            this.forEachMatch(sequence, i, end - i, tokenEnds);
+
+            if (!longestToken.isEmpty()) {
+                selection.accept(longestToken.getStart(0), longestToken.getEnd(0), longestToken.getNodeIndex(0));
+            }
+        }
+    }
+
+    @Override
+    public List<Token> getAllMatches(CharSequence sequence, int start, int length, List<Token> result) {
+        this.forEachMatch(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd, this, nodeIndex));
+        });
+
+        return result;
+    }
+
+    @Override
+    public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
+        List<Token> result = new ArrayList<>();
+
+        this.forEachToken(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd, this, nodeIndex));
+        });
+
+        return result;
+    }
+
+    @Override
+    public Token getLongestMatch(CharSequence sequence) {
+        List<Token> matches = this.getAllMatches(sequence, 0, sequence.length(), new ArrayList<>());
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        Token longestMatch = matches.get(matches.size() - 1);
+
+        Token token = Token.create(0, longestMatch.getOriginal());
+        token.setValue(longestMatch.getValue());
+        return token;
+    }
+
+    @Override
+    public List<Token> getLongestOccurrences(CharSequence sequence) {
+        TokenList tokens = this.getAllOccurrences(sequence, 0, sequence.length(), new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence, this);
+    }
+
+    @Override
+    public List<Token> getLongestTokens(CharSequence sequence) {
+        TokenList tokens = this.getAllTokens(sequence, 0, sequence.length(), new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence, this);
+    }
+
+    /**
+     * @return {@link Integer#MAX_VALUE}, see {@link NormalizingAcceptor#getMaxInputLength()}.
+     */
+    @Override
+    public int getMaxInputLength() {
+        return this.normalizingAcceptor.getMaxInputLength();
+    }
+
+    @Override
+    public CharSequence getOutput(int nodeIndex) {
+        return this.charAcceptor.getInput(nodeIndex);
+    }
+
+    @Override
+    public CharSequence transduce(CharSequence sequence, CharSequence defaultValue) {
+        CharSequence transduced = this.transduce(sequence, 0, sequence.length());
+        if (transduced == null) {
+            return defaultValue;
+        }
+
+        return transduced;
+    }
+
+    @Override
+    public CharSequence transduce(CharSequence sequence, int start, int length) {
+        TokenList longestMatch = new TokenList(1);
+
+        this.forEachMatch(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            longestMatch.clear();
+            longestMatch.add(matchStart, matchEnd, nodeIndex);
+        });
+
+        if (longestMatch.isEmpty() || longestMatch.getEnd(0) != start + length) {
+            return null;
+        }
+
+        return this.getOutput(longestMatch.getNodeIndex(0));
+    }
+}
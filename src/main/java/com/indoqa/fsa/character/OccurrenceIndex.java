@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static com.indoqa.fsa.character.CharDataAccessor.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.indoqa.fsa.Token;
+import com.indoqa.fsa.utils.TokenCandidate;
+
+/**
+ * An Aho-Corasick automaton derived from a {@link CharAcceptor}.<br/>
+ * <br/>
+ * The minimal automaton of a {@link CharAcceptor} shares nodes between different prefixes, which makes failure links impossible.
+ * This index therefore expands the automaton into a trie (one state per distinct prefix) with failure and output links, so that all
+ * occurrences can be found in a single pass over the sequence, at the cost of O(sequence length + number of occurrences).<br/>
+ * <br/>
+ * The index requires roughly 20 bytes per distinct prefix of the accepted inputs, so it should only be created for acceptors that
+ * are used for finding occurrences in large amounts of text.
+ */
+public class OccurrenceIndex {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean caseSensitive;
+
+    private final int[] rootTransitions = new int[Character.MAX_VALUE + 1];
+
+    private int stateCount;
+    private char[] labels;
+    private boolean[] terminals;
+    private int[] depths;
+    private int[] firstChildren;
+    private int[] failures;
+    private int[] outputs;
+
+    protected OccurrenceIndex(CharAcceptor charAcceptor) {
+        super();
+
+        this.caseSensitive = charAcceptor.isCaseSensitive();
+
+        this.expand(charAcceptor.data);
+        this.link();
+    }
+
+    private static long encode(int start, int end) {
+        return (long) start << Integer.SIZE | end;
+    }
+
+    private static int getEnd(long encoded) {
+        return (int) encoded;
+    }
+
+    private static int getStart(long encoded) {
+        return (int) (encoded >>> Integer.SIZE);
+    }
+
+    public List<Token> getAllOccurrences(CharSequence sequence) {
+        return this.getAllOccurrences(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Find all accepted inputs between <code>start</code> and <code>start + length</code> in the given <code>sequence</code>.<br/>
+     * <br/>
+     * The result is the same as {@link CharAcceptor#getAllOccurrences(CharSequence, int, int)} and is ordered by start and length.
+     */
+    public List<Token> getAllOccurrences(CharSequence sequence, int start, int length) {
+        long[] matches = new long[16];
+        int matchCount = 0;
+
+        int state = ROOT;
+        for (int i = start; i < start + length; i++) {
+            state = this.getNextState(state, sequence.charAt(i));
+
+            int output = this.terminals[state] ? state : this.outputs[state];
+            while (output != NONE) {
+                if (matchCount == matches.length) {
+                    matches = Arrays.copyOf(matches, matchCount * 2);
+                }
+
+                matches[matchCount++] = encode(i + 1 - this.depths[output], i + 1);
+                output = this.outputs[output];
+            }
+        }
+
+        // matches are found in the order of their end, but callers expect them ordered by start
+        Arrays.sort(matches, 0, matchCount);
+
+        List<Token> result = new ArrayList<>(matchCount);
+        for (int i = 0; i < matchCount; i++) {
+            result.add(Token.create(sequence, getStart(matches[i]), getEnd(matches[i])));
+        }
+        return result;
+    }
+
+    public List<Token> getLongestOccurrences(CharSequence sequence) {
+        return this.getLongestOccurrences(sequence, 0, sequence.length());
+    }
+
+    public List<Token> getLongestOccurrences(CharSequence sequence, int start, int length) {
+        return TokenCandidate.eliminateOverlapping(this.getAllOccurrences(sequence, start, length));
+    }
+
+    public int getStateCount() {
+        return this.stateCount;
+    }
+
+    private int addState(char label, boolean terminal, int depth) {
+        if (this.stateCount == this.labels.length) {
+            int capacity = this.stateCount * 2;
+
+            this.labels = Arrays.copyOf(this.labels, capacity);
+            this.terminals = Arrays.copyOf(this.terminals, capacity);
+            this.depths = Arrays.copyOf(this.depths, capacity);
+            this.firstChildren = Arrays.copyOf(this.firstChildren, capacity + 1);
+        }
+
+        int state = this.stateCount++;
+        this.labels[state] = label;
+        this.terminals[state] = terminal;
+        this.depths[state] = depth;
+        return state;
+    }
+
+    /**
+     * Expand the graph into a trie in breadth-first order. This assigns consecutive states to the children of each state, which are
+     * then denoted by <code>firstChildren[state]</code> and <code>firstChildren[state + 1]</code>.
+     */
+    private void expand(char[] data) {
+        this.labels = new char[INITIAL_CAPACITY];
+        this.terminals = new boolean[INITIAL_CAPACITY];
+        this.depths = new int[INITIAL_CAPACITY];
+        this.firstChildren = new int[INITIAL_CAPACITY + 1];
+
+        // the node index of every state, only required while expanding
+        int[] nodes = new int[INITIAL_CAPACITY];
+
+        this.addState((char) 0, false, 0);
+
+        for (int state = 0; state < this.stateCount; state++) {
+            this.firstChildren[state] = this.stateCount;
+
+            int node = nodes[state];
+            if (state != ROOT && node == 0 || data.length == 0) {
+                // no outgoing arcs
+                continue;
+            }
+
+            for (int arc = node; arc < data.length; arc += NODE_SIZE) {
+                int child = this.addState(getLabel(data, arc), isTerminal(data, arc), this.depths[state] + 1);
+
+                if (child == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, this.labels.length);
+                }
+                nodes[child] = getTarget(data, arc);
+
+                if (isLast(data, arc)) {
+                    break;
+                }
+            }
+        }
+
+        this.firstChildren[this.stateCount] = this.stateCount;
+
+        for (int child = this.firstChildren[ROOT]; child < this.firstChildren[ROOT + 1]; child++) {
+            char label = this.labels[child];
+            this.rootTransitions[label] = child;
+
+            char switchedLabel = switchCase(label);
+            if (!this.caseSensitive && this.rootTransitions[switchedLabel] == ROOT) {
+                this.rootTransitions[switchedLabel] = child;
+            }
+        }
+    }
+
+    private int getChild(int state, char label) {
+        if (state == ROOT) {
+            int child = this.rootTransitions[label];
+            return child == ROOT ? NONE : child;
+        }
+
+        for (int child = this.firstChildren[state]; child < this.firstChildren[state + 1]; child++) {
+            if (CharDataAccessor.equals(this.labels[child], label, this.caseSensitive)) {
+                return child;
+            }
+        }
+
+        return NONE;
+    }
+
+    private int getNextState(int state, char label) {
+        int current = state;
+
+        while (true) {
+            int child = this.getChild(current, label);
+            if (child != NONE) {
+                return child;
+            }
+
+            if (current == ROOT) {
+                return ROOT;
+            }
+
+            current = this.failures[current];
+        }
+    }
+
+    /**
+     * Compute the failure links (the longest proper suffix that is also a prefix) and output links (the longest proper suffix that
+     * is also an accepted input) in breadth-first order.
+     */
+    private void link() {
+        this.failures = new int[this.stateCount];
+        this.outputs = new int[this.stateCount];
+        this.outputs[ROOT] = NONE;
+
+        for (int state = 0; state < this.stateCount; state++) {
+            for (int child = this.firstChildren[state]; child < this.firstChildren[state + 1]; child++) {
+                int failure = state == ROOT ? ROOT : this.getNextState(this.failures[state], this.labels[child]);
+
+                this.failures[child] = failure;
+                this.outputs[child] = this.terminals[failure] ? failure : this.outputs[failure];
+            }
+        }
+
+        // the arrays were grown in advance, trim them to the required size
+        this.labels = Arrays.copyOf(this.labels, this.stateCount);
+        this.terminals = Arrays.copyOf(this.terminals, this.stateCount);
+        this.depths = Arrays.copyOf(this.depths, this.stateCount);
+        this.firstChildren = Arrays.copyOf(this.firstChildren, this.stateCount + 1);
+    }
+}
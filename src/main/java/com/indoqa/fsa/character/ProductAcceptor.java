@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static com.indoqa.fsa.character.CharDataAccessor.*;
+
+import com.indoqa.fsa.MatchConsumer;
+
+/**
+ * A lazy view of the intersection or difference of two {@link CharAcceptor CharAcceptors}.<br/>
+ * <br/>
+ * Every query walks both graphs in lockstep and stops as soon as no further match is possible, so a blocklist is applied while
+ * matching instead of looking up every match again. Each operand compares chars according to its own case sensitivity.
+ *
+ * @see Acceptors
+ */
+public class ProductAcceptor extends CharAcceptorView {
+
+    private final char[] firstData;
+    private final boolean firstCaseSensitive;
+    private final char[] secondData;
+    private final boolean secondCaseSensitive;
+    private final boolean difference;
+    private final int maxInputLength;
+
+    protected ProductAcceptor(CharAcceptor first, CharAcceptor second, boolean difference) {
+        super();
+
+        this.firstData = first.data;
+        this.firstCaseSensitive = first.isCaseSensitive();
+        this.secondData = second.data;
+        this.secondCaseSensitive = second.isCaseSensitive();
+        this.difference = difference;
+
+        int firstMaxInputLength = first.getMaxInputLength();
+        this.maxInputLength = difference ? firstMaxInputLength : Math.min(firstMaxInputLength, second.getMaxInputLength());
+    }
+
+    /**
+     * @return The maximum input length of the operands, which is an upper bound for the inputs accepted by this view.
+     */
+    @Override
+    public int getMaxInputLength() {
+        return this.maxInputLength;
+    }
+
+    /**
+     * Materialize this view into a new minimal {@link CharAcceptor}, which answers queries without traversing two graphs.<br/>
+     * <br/>
+     * The inputs are taken from the first operand, so the new {@link CharAcceptor} has the case sensitivity of the first operand.
+     * This is not possible for a case-insensitive first operand and a case-sensitive second operand: the view distinguishes the case
+     * variants of an input of the first operand by the second operand, which a single case sensitivity cannot represent.
+     *
+     * @return A new {@link CharAcceptor} accepting the same inputs as this view.
+     * @throws IllegalStateException If the first operand is case-insensitive and the second operand is case-sensitive.
+     */
+    public CharAcceptor toCharAcceptor() {
+        if (!this.firstCaseSensitive && this.secondCaseSensitive) {
+            throw new IllegalStateException(
+                "A view of a case-insensitive and a case-sensitive acceptor cannot be materialized into a single acceptor.");
+        }
+
+        CharAcceptorBuilder builder = new CharAcceptorBuilder(this.firstCaseSensitive);
+        this.addInputs(0, 0, new StringBuilder(), builder);
+        return builder.build();
+    }
+
+    /**
+     * Walk both graphs in lockstep along the given part of the <code>sequence</code>.
+     */
+    @Override
+    protected int traverse(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        int result = -1;
+        int firstNode = 0;
+        int secondNode = 0;
+
+        for (int i = start; i < start + length; i++) {
+            char label = sequence.charAt(i);
+
+            int firstArc = getArc(this.firstData, firstNode, label, this.firstCaseSensitive);
+            if (firstArc == -1) {
+                break;
+            }
+
+            int secondArc = this.getSecondArc(secondNode, label);
+            if (secondArc == -1 && !this.difference) {
+                break;
+            }
+
+            if (this.isTerminal(firstArc, secondArc)) {
+                result = i + 1;
+
+                if (consumer != null) {
+                    consumer.accept(start, i + 1, firstArc);
+                }
+            }
+
+            firstNode = getTarget(this.firstData, firstArc);
+            secondNode = this.getSecondTarget(secondArc);
+            if (firstNode == 0 || secondNode == -1 && !this.difference) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    private void addInputs(int firstNode, int secondNode, StringBuilder path, CharAcceptorBuilder builder) {
+        for (int firstArc = firstNode; firstArc < this.firstData.length; firstArc += NODE_SIZE) {
+            char label = getLabel(this.firstData, firstArc);
+            int secondArc = this.getSecondArc(secondNode, label);
+
+            if (secondArc != -1 || this.difference) {
+                path.append(label);
+
+                if (this.isTerminal(firstArc, secondArc)) {
+                    builder.addAcceptedInput(path);
+                }
+
+                int firstTarget = getTarget(this.firstData, firstArc);
+                int secondTarget = this.getSecondTarget(secondArc);
+                if (firstTarget != 0 && (secondTarget != -1 || this.difference)) {
+                    this.addInputs(firstTarget, secondTarget, path, builder);
+                }
+
+                path.setLength(path.length() - 1);
+            }
+
+            if (isLast(this.firstData, firstArc)) {
+                break;
+            }
+        }
+    }
+
+    private int getSecondArc(int secondNode, char label) {
+        if (secondNode == -1) {
+            return -1;
+        }
+
+        return getArc(this.secondData, secondNode, label, this.secondCaseSensitive);
+    }
+
+    /**
+     * @return The target of the given arc of the second operand, or <code>-1</code> if the second operand cannot match any further
+     *         chars.
+     */
+    private int getSecondTarget(int secondArc) {
+        if (secondArc == -1) {
+            return -1;
+        }
+
+        int target = getTarget(this.secondData, secondArc);
+        return target == 0 ? -1 : target;
+    }
+
+    private boolean isTerminal(int firstArc, int secondArc) {
+        if (!CharDataAccessor.isTerminal(this.firstData, firstArc)) {
+            return false;
+        }
+
+        boolean secondTerminal = secondArc != -1 && CharDataAccessor.isTerminal(this.secondData, secondArc);
+        return this.difference ? !secondTerminal : secondTerminal;
+    }
+}
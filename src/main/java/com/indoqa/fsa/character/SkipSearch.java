@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static com.indoqa.fsa.character.CharDataAccessor.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.OverlapPolicy;
+import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenList;
+
+/**
+ * Finds occurrences of the inputs of a {@link CharAcceptor} by skipping positions in the style of Horspool's algorithm for sets of
+ * patterns.<br/>
+ * <br/>
+ * All accepted inputs have at least {@link CharAcceptor#getMinInputLength()} chars, so every occurrence covers a window of that
+ * length. For each char the shift table records how far the last char of such a window is from the end of the window in any
+ * accepted prefix, i.e. how far the window can be moved without skipping an occurrence. A match is only attempted when the last
+ * char of the window can end a prefix of that length. The fewer windows match, the longer the accepted inputs and the fewer
+ * distinct chars they contain, the more positions are skipped.<br/>
+ * <br/>
+ * The shift table is indexed by the lower bits of a char and keeps the smallest shift of all chars sharing an entry, so it has a
+ * constant size of {@value #TABLE_SIZE} bytes. The window is limited to {@value #MAX_WINDOW_LENGTH} chars.<br/>
+ * <br/>
+ * The results are the same as {@link CharAcceptor#getAllOccurrences(CharSequence, int, int)}.
+ */
+public class SkipSearch {
+
+    private static final int TABLE_SIZE = 1024;
+    private static final int MAX_WINDOW_LENGTH = 64;
+
+    private final CharAcceptor charAcceptor;
+    private final int windowLength;
+    private final byte[] shifts = new byte[TABLE_SIZE];
+
+    protected SkipSearch(CharAcceptor charAcceptor) {
+        super();
+
+        this.charAcceptor = charAcceptor;
+        this.windowLength = Math.min(charAcceptor.getMinInputLength(), MAX_WINDOW_LENGTH);
+
+        this.createShifts();
+    }
+
+    private static int getSlot(char c) {
+        return c & (TABLE_SIZE - 1);
+    }
+
+    /**
+     * Performs the same operation as {@link CharAcceptor#forEachOccurrence(CharSequence, int, int, MatchConsumer)}, but skips all
+     * positions at which no occurrence can start.
+     */
+    public void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        if (this.windowLength == 0) {
+            return;
+        }
+
+        int end = start + length;
+        int lastWindowStart = end - this.windowLength;
+
+        int i = start;
+        while (i <= lastWindowStart) {
+            int shift = this.shifts[getSlot(sequence.charAt(i + this.windowLength - 1))];
+            if (shift > 0) {
+                i += shift;
+                continue;
+            }
+
+            this.charAcceptor.forEachMatch(sequence, i, end - i, consumer);
+            i++;
+        }
+    }
+
+    /**
+     * Performs the same operation as {@link CharAcceptor#forEachOccurrence(CharSequence, int, int, OverlapPolicy, MatchConsumer)},
+     * but skips all positions at which no occurrence can start.
+     */
+    public void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        MatchSelection selection = policy.createSelection(consumer);
+        this.forEachOccurrence(sequence, start, length, selection);
+        selection.complete();
+    }
+
+    public List<Token> getAllOccurrences(CharSequence sequence) {
+        return this.getAllOccurrences(sequence, 0, sequence.length());
+    }
+
+    public List<Token> getAllOccurrences(CharSequence sequence, int start, int length) {
+        List<Token> result = new ArrayList<>();
+
+        this.forEachOccurrence(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd));
+        });
+
+        return result;
+    }
+
+    public TokenList getAllOccurrences(CharSequence sequence, int start, int length, TokenList result) {
+        this.forEachOccurrence(sequence, start, length, result);
+        return result;
+    }
+
+    /**
+     * @return The length of the window examined for skipping positions, i.e. the maximum number of positions skipped at once.
+     */
+    public int getWindowLength() {
+        return this.windowLength;
+    }
+
+    private void createShifts() {
+        char[] data = this.charAcceptor.data;
+        boolean caseSensitive = this.charAcceptor.isCaseSensitive();
+
+        for (int i = 0; i < this.shifts.length; i++) {
+            this.shifts[i] = (byte) this.windowLength;
+        }
+
+        // the nodes reachable with exactly depth chars, a node can be reached with different depths
+        BitSet nodes = new BitSet();
+        BitSet nextNodes = new BitSet();
+        if (this.windowLength > 0) {
+            nodes.set(0);
+        }
+
+        for (int depth = 0; depth < this.windowLength; depth++) {
+            byte shift = (byte) (this.windowLength - 1 - depth);
+
+            for (int slot = nodes.nextSetBit(0); slot != -1; slot = nodes.nextSetBit(slot + 1)) {
+                for (int arc = slot * NODE_SIZE; arc < data.length; arc += NODE_SIZE) {
+                    char label = getLabel(data, arc);
+                    this.setShift(label, shift);
+                    if (!caseSensitive) {
+                        this.setShift(switchCase(label), shift);
+                    }
+
+                    // all inputs are at least windowLength chars long, so there is always a target within the window
+                    int target = getTarget(data, arc);
+                    if (target != 0) {
+                        nextNodes.set(target / NODE_SIZE);
+                    }
+
+                    if (isLast(data, arc)) {
+                        break;
+                    }
+                }
+            }
+
+            BitSet swap = nodes;
+            nodes = nextNodes;
+            nextNodes = swap;
+            nextNodes.clear();
+        }
+    }
+
+    private void setShift(char c, byte shift) {
+        int slot = getSlot(c);
+
+        if (this.shifts[slot] > shift) {
+            this.shifts[slot] = shift;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static com.indoqa.fsa.character.CharDataAccessor.*;
+
+/**
+ * A filter for the positions at which a match of a {@link CharAcceptor} can start, based on the first two chars of all accepted
+ * inputs.<br/>
+ * <br/>
+ * The labels of the root node are kept in a bitmap covering all chars, the pairs of first and second char in a bitmap of
+ * {@value #PAIR_COUNT} bits indexed by a hash of both chars. A position is a candidate, if its char is a label of the root node and
+ * either an input consists of that char only or the pair with the next char might start an input. Hash collisions of pairs can
+ * only produce candidates that turn out not to match, so the filter never rejects a position with a match.<br/>
+ * <br/>
+ * Testing a position requires up to three bit tests, while a failing match requires examining all arcs of the root node. The
+ * filter requires 24 KB, independent of the size of the {@link CharAcceptor}.
+ */
+public class StartFilter {
+
+    private static final int PAIR_COUNT = 1 << 16;
+
+    private final long[] firstChars = new long[(Character.MAX_VALUE + 1) >> 6];
+    private final long[] singleChars = new long[(Character.MAX_VALUE + 1) >> 6];
+    private final long[] pairs = new long[PAIR_COUNT >> 6];
+
+    private final boolean empty;
+
+    /**
+     * Create a {@link StartFilter} for the given <code>charAcceptor</code>.
+     *
+     * @param stopLabel The label ending the inputs, e.g. the separator of a {@link CharTransducer}, or <code>-1</code> if the inputs
+     *            end with terminal arcs.
+     */
+    protected StartFilter(CharAcceptor charAcceptor, int stopLabel) {
+        super();
+
+        this.empty = this.analyze(charAcceptor.data, charAcceptor.isCaseSensitive(), stopLabel);
+    }
+
+    private static int getPair(char first, char second) {
+        return (first << 8 ^ second) & (PAIR_COUNT - 1);
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >> 6] & 1L << index) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >> 6] |= 1L << index;
+    }
+
+    /**
+     * @param sequence The {@link CharSequence} to examine.
+     * @param index The position to test.
+     * @param end The index after the last char that may be part of a match.
+     * @return <code>false</code> if no match can start at <code>index</code>.
+     */
+    public boolean isCandidate(CharSequence sequence, int index, int end) {
+        if (this.empty) {
+            return true;
+        }
+
+        char first = sequence.charAt(index);
+        if (!isSet(this.firstChars, first)) {
+            return false;
+        }
+
+        if (isSet(this.singleChars, first)) {
+            return true;
+        }
+
+        return index + 1 < end && isSet(this.pairs, getPair(first, sequence.charAt(index + 1)));
+    }
+
+    /**
+     * @return <code>true</code> if the empty input is accepted, i.e. a match can start at every position.
+     */
+    private boolean analyze(char[] data, boolean caseSensitive, int stopLabel) {
+        if (data.length == 0) {
+            return false;
+        }
+
+        for (int arc = 0; arc < data.length; arc += NODE_SIZE) {
+            char first = getLabel(data, arc);
+
+            if (first == stopLabel) {
+                return true;
+            }
+
+            int target = getTarget(data, arc);
+            boolean single = isTerminal(data, arc) && stopLabel == -1;
+
+            for (int next = target; target != 0 && next < data.length; next += NODE_SIZE) {
+                char second = getLabel(data, next);
+
+                if (second == stopLabel) {
+                    single = true;
+                } else {
+                    this.setPair(first, second, caseSensitive);
+                }
+
+                if (isLast(data, next)) {
+                    break;
+                }
+            }
+
+            this.setFirst(first, single);
+            if (!caseSensitive) {
+                this.setFirst(switchCase(first), single);
+            }
+
+            if (isLast(data, arc)) {
+                break;
+            }
+        }
+
+        return false;
+    }
+
+    private void setFirst(char first, boolean single) {
+        set(this.firstChars, first);
+
+        if (single) {
+            set(this.singleChars, first);
+        }
+    }
+
+    private void setPair(char first, char second, boolean caseSensitive) {
+        set(this.pairs, getPair(first, second));
+
+        if (!caseSensitive) {
+            set(this.pairs, getPair(switchCase(first), second));
+            set(this.pairs, getPair(first, switchCase(second)));
+            set(this.pairs, getPair(switchCase(first), switchCase(second)));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import java.util.BitSet;
+
+/**
+ * A token found by a {@link CharMultiAcceptor}, tagged with the dictionaries containing it.
+ *
+ * @see CharMultiAcceptor#getAllTokens(CharSequence)
+ */
+public class TaggedToken {
+
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+    private final BitSet dictionaries;
+
+    private String original;
+
+    protected TaggedToken(CharSequence source, int start, int end, BitSet dictionaries) {
+        super();
+
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * @return The ids of all dictionaries containing this token.
+     */
+    public BitSet getDictionaries() {
+        return this.dictionaries;
+    }
+
+    public int getEnd() {
+        return this.end;
+    }
+
+    public int getLength() {
+        return this.end - this.start;
+    }
+
+    public String getOriginal() {
+        if (this.original == null) {
+            this.original = this.source.subSequence(this.start, this.end).toString();
+        }
+
+        return this.original;
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    public boolean isContainedIn(int dictionary) {
+        return this.dictionaries.get(dictionary);
+    }
+
+    @Override
+    public String toString() {
+        return this.getOriginal() + " [" + this.start + ", " + this.end + "] " + this.dictionaries;
+    }
+}
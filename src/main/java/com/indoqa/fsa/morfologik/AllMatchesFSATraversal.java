@@ -33,6 +33,23 @@ public class AllMatchesFSATraversal {
 
     public int[] getAllMatches(byte[] input, int start, int length) {
         int[] result = new int[length];
+        int resultCount = this.getAllMatches(input, start, length, result, null);
+        return Arrays.copyOf(result, resultCount);
+    }
+
+    /**
+     * Find all matches and store their ends and arcs in the given arrays, which must be large enough to hold <code>length</code>
+     * elements.
+     *
+     * @param input The input bytes.
+     * @param start The index within the input at which matches must begin.
+     * @param length The maximum length to consider.
+     * @param ends Receives the end of each match.
+     * @param arcs Receives the final arc of each match, can be <code>null</code>.
+     *
+     * @return The number of matches.
+     */
+    public int getAllMatches(byte[] input, int start, int length, int[] ends, int[] arcs) {
         int resultCount = 0;
 
         int currentNode = this.rootNode;
@@ -45,7 +62,10 @@ public class AllMatchesFSATraversal {
             }
 
             if (this.fsa.isArcFinal(arc)) {
-                result[resultCount++] = i + 1;
+                if (arcs != null) {
+                    arcs[resultCount] = arc;
+                }
+                ends[resultCount++] = i + 1;
 
                 if (this.fsa.isArcTerminal(arc)) {
                     break;
@@ -55,6 +75,6 @@ public class AllMatchesFSATraversal {
             currentNode = this.fsa.getEndNode(arc);
         }
 
-        return Arrays.copyOf(result, resultCount);
+        return resultCount;
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.morfologik;
+
+import java.util.Locale;
+
+import com.indoqa.fsa.Matcher;
+import com.indoqa.fsa.utils.EncodingUtils;
+
+/**
+ * The UTF-8 encoded part of a sequence together with the buffers for finding matches in it.<br/>
+ * <br/>
+ * A {@link Matcher} keeps one instance for all sequences it examines, so that the buffers are only allocated when they need to grow.
+ */
+final class MatchBuffers {
+
+    private final Result result = new Result();
+
+    private byte[] bytes = new byte[0];
+    private int[] charOffsets = new int[1];
+    private int[] ends = new int[0];
+    private int[] arcs = new int[0];
+    private int length;
+
+    private static boolean isPairedSurrogate(CharSequence sequence, int index, int end) {
+        return Character.isHighSurrogate(sequence.charAt(index)) && index + 1 < end
+            && Character.isLowSurrogate(sequence.charAt(index + 1));
+    }
+
+    private static boolean isSimpleLowerCase(CharSequence sequence, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = sequence.charAt(i);
+
+            // these chars are lower-cased depending on their context or into more than one char by String.toLowerCase
+            if (c == '\u0130' || c == '\u03A3' || Character.isSurrogate(c)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Encode the part of <code>sequence</code> denoted by <code>start</code> and <code>length</code> and determine the char offset
+     * of every byte, with the same result as {@link EncodingUtils#getBytes(CharSequence, int, int)} and
+     * {@link EncodingUtils#getCharOffsets(byte[])}.
+     *
+     * @param lowerCase Whether the chars should be lower-cased like {@link String#toLowerCase(Locale)} with {@link Locale#ROOT}.
+     */
+    public void encode(CharSequence sequence, int start, int length, boolean lowerCase) {
+        int end = start + length;
+
+        if (lowerCase && !isSimpleLowerCase(sequence, start, end)) {
+            byte[] encoded = EncodingUtils.getBytes(sequence.subSequence(start, end).toString().toLowerCase(Locale.ROOT));
+            this.ensureCapacity(encoded.length);
+            System.arraycopy(encoded, 0, this.bytes, 0, encoded.length);
+            EncodingUtils.getCharOffsets(this.bytes, this.length, this.charOffsets);
+            return;
+        }
+
+        int byteCount = 0;
+        for (int i = start; i < end; i++) {
+            char c = lowerCase ? Character.toLowerCase(sequence.charAt(i)) : sequence.charAt(i);
+
+            if (c < 0x80 || Character.isSurrogate(c) && !isPairedSurrogate(sequence, i, end)) {
+                byteCount++;
+            } else if (c < 0x800) {
+                byteCount += 2;
+            } else if (Character.isSurrogate(c)) {
+                byteCount += 4;
+                i++;
+            } else {
+                byteCount += 3;
+            }
+        }
+        this.ensureCapacity(byteCount);
+
+        int offset = 0;
+        for (int i = start; i < end; i++) {
+            char c = lowerCase ? Character.toLowerCase(sequence.charAt(i)) : sequence.charAt(i);
+
+            if (Character.isSurrogate(c) && !isPairedSurrogate(sequence, i, end)) {
+                // unpaired surrogates are replaced like String.getBytes does
+                this.bytes[offset++] = '?';
+            } else if (c < 0x80) {
+                this.bytes[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                this.bytes[offset++] = (byte) (0xC0 | c >> 6);
+                this.bytes[offset++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                int codePoint = Character.toCodePoint(c, sequence.charAt(++i));
+                this.bytes[offset++] = (byte) (0xF0 | codePoint >> 18);
+                this.bytes[offset++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                this.bytes[offset++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                this.bytes[offset++] = (byte) (0x80 | codePoint & 0x3F);
+            } else {
+                this.bytes[offset++] = (byte) (0xE0 | c >> 12);
+                this.bytes[offset++] = (byte) (0x80 | c >> 6 & 0x3F);
+                this.bytes[offset++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        EncodingUtils.getCharOffsets(this.bytes, this.length, this.charOffsets);
+    }
+
+    public int[] getArcs() {
+        return this.arcs;
+    }
+
+    public byte[] getBytes() {
+        return this.bytes;
+    }
+
+    public int[] getCharOffsets() {
+        return this.charOffsets;
+    }
+
+    public int[] getEnds() {
+        return this.ends;
+    }
+
+    /**
+     * @return The number of encoded bytes, the buffers may be longer.
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    public Result getResult() {
+        return this.result;
+    }
+
+    private void ensureCapacity(int byteCount) {
+        this.length = byteCount;
+
+        if (this.bytes.length < byteCount) {
+            this.bytes = new byte[byteCount];
+            this.charOffsets = new int[byteCount + 1];
+            this.ends = new int[byteCount];
+            this.arcs = new int[byteCount];
+        }
+    }
+}
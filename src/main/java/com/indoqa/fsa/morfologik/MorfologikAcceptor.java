@@ -20,29 +20,73 @@ import static com.indoqa.fsa.morfologik.Result.Match.EXACT_MATCH;
 import static com.indoqa.fsa.utils.TokenCandidate.eliminateOverlapping;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import com.indoqa.fsa.Acceptor;
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.Matcher;
+import com.indoqa.fsa.OverlapPolicy;
 import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.TokenList;
+import com.indoqa.fsa.WordBoundaryDetector;
 import com.indoqa.fsa.utils.EncodingUtils;
 
 import morfologik.fsa.FSA;
 
 public class MorfologikAcceptor implements Acceptor {
 
+    private final FSA fsa;
     private final boolean caseSensitive;
     private final int rootNode;
     private final PrefixFSATraversal prefixTraversal;
     private final AllMatchesFSATraversal allMatchesTraversal;
+    private int maxInputLength = -1;
 
     protected MorfologikAcceptor(FSA fsa, boolean caseSensitive) {
+        this.fsa = fsa;
         this.caseSensitive = caseSensitive;
         this.rootNode = fsa.getRootNode();
         this.prefixTraversal = new PrefixFSATraversal(fsa);
         this.allMatchesTraversal = new AllMatchesFSATraversal(fsa);
     }
 
+    /**
+     * Determine the length (in bytes) of the longest path starting at the root of the given <code>fsa</code>, ending before the
+     * first arc with the given <code>stopLabel</code>.<br/>
+     * <br/>
+     * Since every char requires at least one byte, this is also an upper bound for the length in chars.
+     *
+     * @param stopLabel The label ending a path or <code>-1</code> to determine the length of the longest input.
+     */
+    protected static int getMaxLength(FSA fsa, int stopLabel) {
+        return getMaxLength(fsa, fsa.getRootNode(), stopLabel, new HashMap<>());
+    }
+
+    private static int getMaxLength(FSA fsa, int node, int stopLabel, Map<Integer, Integer> lengths) {
+        Integer knownLength = lengths.get(node);
+        if (knownLength != null) {
+            return knownLength;
+        }
+
+        int result = 0;
+        for (int arc = fsa.getFirstArc(node); arc != 0; arc = fsa.getNextArc(arc)) {
+            if (fsa.getArcLabel(arc) == stopLabel) {
+                continue;
+            }
+
+            int length = fsa.isArcTerminal(arc) ? 1 : 1 + getMaxLength(fsa, fsa.getEndNode(arc), stopLabel, lengths);
+            result = Math.max(result, length);
+        }
+
+        lengths.put(node, result);
+        return result;
+    }
+
     @Override
     public boolean accepts(CharSequence sequence) {
         if (sequence == null) {
@@ -60,6 +104,67 @@ public class MorfologikAcceptor implements Acceptor {
         return this.accepts(sequence.subSequence(start, start + length));
     }
 
+    /**
+     * Create a {@link Matcher} that keeps the UTF-8 encoded sequence and all buffers required for finding the occurrences between
+     * sequences.
+     */
+    @Override
+    public Matcher createOccurrenceMatcher(OverlapPolicy policy) {
+        MatchBuffers buffers = new MatchBuffers();
+
+        return Matcher.create((sequence, start, length, boundaries, consumer) -> {
+            this.forEachOccurrence(sequence, start, length, policy, consumer, buffers);
+        }, null);
+    }
+
+    /**
+     * Create a {@link Matcher} that keeps the UTF-8 encoded sequence and all buffers required for finding the tokens between
+     * sequences.
+     */
+    @Override
+    public Matcher createTokenMatcher(OverlapPolicy policy) {
+        MatchBuffers buffers = new MatchBuffers();
+
+        return Matcher.create((sequence, start, length, boundaries, consumer) -> {
+            boundaries.analyze(sequence, start, length, WordBoundaryDetector.getInstance());
+            this.forEachToken(sequence, boundaries, policy, consumer, buffers);
+        }, null);
+    }
+
+    @Override
+    public void forEachMatch(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        byte[] bytes = this.getBytes(sequence.subSequence(start, start + length));
+        int[] charOffsets = EncodingUtils.getCharOffsets(bytes);
+
+        int[] ends = new int[bytes.length];
+        int[] arcs = new int[bytes.length];
+
+        int count = this.allMatchesTraversal.getAllMatches(bytes, 0, bytes.length, ends, arcs);
+        for (int i = 0; i < count; i++) {
+            consumer.accept(start, start + charOffsets[ends[i]], arcs[i]);
+        }
+    }
+
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachOccurrence(sequence, start, length, OverlapPolicy.allOverlapping(), consumer);
+    }
+
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        this.forEachOccurrence(sequence, start, length, policy, consumer, new MatchBuffers());
+    }
+
+    @Override
+    public void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachToken(sequence, start, length, OverlapPolicy.allOverlapping(), consumer);
+    }
+
+    @Override
+    public void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer) {
+        this.forEachToken(sequence, boundaries, policy, consumer, new MatchBuffers());
+    }
+
     @Override
     public String[] getAllMatches(CharSequence sequence) {
         byte[] bytes = this.getBytes(sequence);
@@ -80,61 +185,36 @@ public class MorfologikAcceptor implements Acceptor {
 
     @Override
     public List<Token> getAllOccurrences(CharSequence charSequence) {
-        List<Token> result = new ArrayList<>();
+        return this.getAllOccurrences(charSequence, 0, charSequence.length());
+    }
 
-        byte[] bytes = this.getBytes(charSequence);
-        byte[] originalBytes = this.caseSensitive ? bytes : EncodingUtils.getBytes(charSequence);
+    @Override
+    public List<Token> getAllOccurrences(CharSequence sequence, int start, int length) {
+        List<Token> result = new ArrayList<>();
 
-        for (int offset = 0; offset < bytes.length - 1; offset++) {
-            int[] allMatches = this.allMatchesTraversal.getAllMatches(bytes, offset, bytes.length - offset);
-            for (int eachMatch : allMatches) {
-                int charOffset = EncodingUtils.getString(bytes, 0, offset).length();
-                Token token = Token.create(charOffset, EncodingUtils.getString(originalBytes, offset, eachMatch - offset));
-                result.add(token);
-
-            }
-        }
+        this.forEachOccurrence(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd));
+        });
 
         return result;
     }
 
     @Override
-    public List<Token> getAllOccurrences(CharSequence sequence, int start, int length) {
-        return this.getAllOccurrences(sequence.subSequence(start, start + length));
+    public List<Token> getAllTokens(CharSequence charSequence) {
+        return this.getAllTokens(charSequence, 0, charSequence.length());
     }
 
     @Override
-    public List<Token> getAllTokens(CharSequence charSequence) {
+    public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
         List<Token> result = new ArrayList<>();
 
-        byte[] bytes = this.getBytes(charSequence);
-        byte[] originalBytes = this.caseSensitive ? bytes : EncodingUtils.getBytes(charSequence);
-
-        for (int offset = 0; offset < bytes.length - 1; offset++) {
-            if (!EncodingUtils.isTokenStart(bytes, offset)) {
-                continue;
-            }
-
-            int[] allMatches = this.allMatchesTraversal.getAllMatches(bytes, offset, bytes.length - offset);
-            for (int eachMatch : allMatches) {
-                if (!EncodingUtils.isTokenEnd(bytes, eachMatch)) {
-                    continue;
-                }
-
-                int charOffset = EncodingUtils.getString(bytes, 0, offset).length();
-                Token token = Token.create(charOffset, EncodingUtils.getString(originalBytes, offset, eachMatch - offset));
-                result.add(token);
-            }
-        }
+        this.forEachToken(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd));
+        });
 
         return result;
     }
 
-    @Override
-    public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
-        return this.getAllTokens(sequence.subSequence(start, start + length));
-    }
-
     @Override
     public String getLongestMatch(CharSequence charSequence) {
         byte[] bytes = this.getBytes(charSequence);
@@ -154,22 +234,94 @@ public class MorfologikAcceptor implements Acceptor {
 
     @Override
     public List<Token> getLongestOccurrences(CharSequence charSequence) {
-        return eliminateOverlapping(this.getAllOccurrences(charSequence));
+        TokenList tokens = this.getAllOccurrences(charSequence, 0, charSequence.length(), new TokenList());
+        return eliminateOverlapping(tokens, new TokenList()).toTokens(charSequence);
     }
 
     @Override
     public List<Token> getLongestOccurrences(CharSequence sequence, int start, int length) {
-        return this.getLongestOccurrences(sequence.subSequence(start, start + length));
+        TokenList tokens = this.getAllOccurrences(sequence, start, length, new TokenList());
+        return eliminateOverlapping(tokens, new TokenList()).toTokens(sequence);
     }
 
     @Override
     public List<Token> getLongestTokens(CharSequence charSequence) {
-        return eliminateOverlapping(this.getAllTokens(charSequence));
+        TokenList tokens = this.getAllTokens(charSequence, 0, charSequence.length(), new TokenList());
+        return eliminateOverlapping(tokens, new TokenList()).toTokens(charSequence);
     }
 
     @Override
     public List<Token> getLongestTokens(CharSequence sequence, int start, int length) {
-        return this.getLongestOccurrences(sequence.subSequence(start, start + length));
+        TokenList tokens = this.getAllTokens(sequence, start, length, new TokenList());
+        return eliminateOverlapping(tokens, new TokenList()).toTokens(sequence);
+    }
+
+    @Override
+    public int getMaxInputLength() {
+        if (this.maxInputLength == -1) {
+            this.maxInputLength = getMaxLength(this.fsa, -1);
+        }
+
+        return this.maxInputLength;
+    }
+
+    private void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer,
+        MatchBuffers buffers) {
+        MatchSelection selection = policy.createSelection(consumer);
+
+        buffers.encode(sequence, start, length, !this.caseSensitive);
+        byte[] bytes = buffers.getBytes();
+        int byteCount = buffers.getLength();
+        int[] charOffsets = buffers.getCharOffsets();
+        int[] ends = buffers.getEnds();
+        int[] arcs = buffers.getArcs();
+
+        int limit = start;
+        for (int offset = 0; offset < byteCount; offset++) {
+            if (!EncodingUtils.isCharStart(bytes[offset]) || start + charOffsets[offset] < limit) {
+                continue;
+            }
+
+            int count = this.allMatchesTraversal.getAllMatches(bytes, offset, byteCount - offset, ends, arcs);
+            for (int i = 0; i < count; i++) {
+                selection.accept(start + charOffsets[offset], start + charOffsets[ends[i]], arcs[i]);
+            }
+
+            limit = selection.complete();
+        }
+    }
+
+    private void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer,
+        MatchBuffers buffers) {
+        MatchSelection selection = policy.createSelection(consumer);
+        int start = boundaries.getStart();
+
+        buffers.encode(sequence, start, boundaries.getLength(), !this.caseSensitive);
+        byte[] bytes = buffers.getBytes();
+        int byteCount = buffers.getLength();
+        int[] charOffsets = buffers.getCharOffsets();
+        int[] ends = buffers.getEnds();
+        int[] arcs = buffers.getArcs();
+
+        int limit = start;
+        for (int offset = 0; offset < byteCount; offset++) {
+            if (!EncodingUtils.isCharStart(bytes[offset]) || start + charOffsets[offset] < limit) {
+                continue;
+            }
+
+            if (!boundaries.isStart(start + charOffsets[offset])) {
+                continue;
+            }
+
+            int count = this.allMatchesTraversal.getAllMatches(bytes, offset, byteCount - offset, ends, arcs);
+            for (int i = 0; i < count; i++) {
+                if (boundaries.isEnd(start + charOffsets[ends[i]])) {
+                    selection.accept(start + charOffsets[offset], start + charOffsets[ends[i]], arcs[i]);
+                }
+            }
+
+            limit = selection.complete();
+        }
     }
 
     private byte[] getBytes(CharSequence value) {
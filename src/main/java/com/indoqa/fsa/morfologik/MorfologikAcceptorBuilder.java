@@ -26,6 +26,7 @@ import java.util.TreeSet;
 
 import com.indoqa.fsa.Acceptor;
 import com.indoqa.fsa.AcceptorBuilder;
+import com.indoqa.fsa.BuildEstimate;
 import com.indoqa.fsa.utils.EncodingUtils;
 
 import morfologik.fsa.FSA;
@@ -34,8 +35,19 @@ import morfologik.fsa.builders.FSABuilder;
 
 public class MorfologikAcceptorBuilder implements AcceptorBuilder {
 
+    // conservative memory sizes (uncompressed references, 8 byte alignment)
+    private static final int INPUT_OVERHEAD = 40 + 16 + 8;
+    // serialized arcs, hash table, the completed copy and the FSA5 serialization buffers per arc
+    private static final int BUILD_BYTES_PER_ARC = 6 + 8 + 6 + 5 + 8;
+    // FSA5 uses at most 1 byte for the label and 4 bytes for flags and address
+    private static final int FSA5_BYTES_PER_ARC = 1 + 4;
+    private static final int FSA5_HEADER_SIZE = 8;
+
+    private static final int BUFFER_GROWTH_SIZE = 1024;
+
     private final boolean caseSensitive;
     private final Set<byte[]> inputs = new TreeSet<>(FSABuilder.LEXICAL_ORDERING);
+    private long inputBytes;
 
     public MorfologikAcceptorBuilder() {
         this(false);
@@ -65,6 +77,24 @@ public class MorfologikAcceptorBuilder implements AcceptorBuilder {
         return new MorfologikAcceptor(fsa, caseSensitive);
     }
 
+    protected static BuildEstimate estimate(long inputCount, long inputBytes, int bufferGrowthSize, int headerSize) {
+        BuildEstimate result = new BuildEstimate();
+
+        // every input byte creates at most one arc (and one node)
+        result.setInputCount(inputCount);
+        result.setNodeCount(inputBytes);
+        result.setArcCount(inputBytes);
+
+        long builderHeap = inputCount * INPUT_OVERHEAD + inputBytes;
+        result.setBuilderHeap(builderHeap);
+        result.setPeakHeap(builderHeap + bufferGrowthSize + inputBytes * BUILD_BYTES_PER_ARC);
+
+        result.setRequiredLength(inputBytes * FSA5_BYTES_PER_ARC);
+        result.setFileSize(headerSize + FSA5_HEADER_SIZE + inputBytes * FSA5_BYTES_PER_ARC);
+
+        return result;
+    }
+
     @Override
     public void addAcceptedInput(CharSequence... input) {
         for (CharSequence eachInput : input) {
@@ -78,10 +108,15 @@ public class MorfologikAcceptorBuilder implements AcceptorBuilder {
             return;
         }
 
+        byte[] bytes;
         if (!this.caseSensitive) {
-            this.inputs.add(EncodingUtils.getBytes(input.subSequence(start, start + length).toString().toLowerCase(Locale.ROOT)));
+            bytes = EncodingUtils.getBytes(input.subSequence(start, start + length).toString().toLowerCase(Locale.ROOT));
         } else {
-            this.inputs.add(EncodingUtils.getBytes(input, start, length));
+            bytes = EncodingUtils.getBytes(input, start, length);
+        }
+
+        if (this.inputs.add(bytes)) {
+            this.inputBytes += bytes.length;
         }
     }
 
@@ -98,6 +133,11 @@ public class MorfologikAcceptorBuilder implements AcceptorBuilder {
         return new MorfologikAcceptor(fsa, this.caseSensitive);
     }
 
+    @Override
+    public BuildEstimate estimate() {
+        return estimate(this.inputs.size(), this.inputBytes, BUFFER_GROWTH_SIZE, 1);
+    }
+
     @Override
     public void write(OutputStream outputStream) throws IOException {
         outputStream.write(this.caseSensitive ? 1 : 0);
@@ -109,7 +149,7 @@ public class MorfologikAcceptorBuilder implements AcceptorBuilder {
     }
 
     private FSA buildFSA() {
-        FSABuilder builder = new FSABuilder(1024);
+        FSABuilder builder = new FSABuilder(BUFFER_GROWTH_SIZE);
 
         for (byte[] eachInput : this.inputs) {
             builder.add(eachInput, 0, eachInput.length);
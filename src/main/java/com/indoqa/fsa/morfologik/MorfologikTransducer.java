@@ -22,8 +22,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.Matcher;
+import com.indoqa.fsa.OverlapPolicy;
 import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.TokenList;
 import com.indoqa.fsa.Transducer;
+import com.indoqa.fsa.WordBoundaryDetector;
 import com.indoqa.fsa.morfologik.Result.Match;
 import com.indoqa.fsa.utils.EncodingUtils;
 import com.indoqa.fsa.utils.TokenCandidate;
@@ -37,6 +44,7 @@ public class MorfologikTransducer implements Transducer {
     private final TransducerTraversal traversal;
     private final Dictionary dictionary;
     private final ByteSequenceIterator iterator;
+    private int maxInputLength = -1;
 
     protected MorfologikTransducer(Dictionary dictionary, boolean caseSensitive) {
         this.dictionary = dictionary;
@@ -45,61 +53,87 @@ public class MorfologikTransducer implements Transducer {
         this.caseSensitive = caseSensitive;
     }
 
+    /**
+     * Create a {@link Matcher} that keeps the UTF-8 encoded sequence and all buffers required for finding the occurrences between
+     * sequences.
+     */
     @Override
-    public List<Token> getAllMatches(CharSequence sequence, int start, int length, List<Token> result) {
+    public Matcher createOccurrenceMatcher(OverlapPolicy policy) {
+        MatchBuffers buffers = new MatchBuffers();
+
+        return Matcher.create((sequence, start, length, boundaries, consumer) -> {
+            this.forEachOccurrence(sequence, start, length, policy, consumer, buffers);
+        }, this);
+    }
+
+    /**
+     * Create a {@link Matcher} that keeps the UTF-8 encoded sequence and all buffers required for finding the tokens between
+     * sequences.
+     */
+    @Override
+    public Matcher createTokenMatcher(OverlapPolicy policy) {
+        MatchBuffers buffers = new MatchBuffers();
+
+        return Matcher.create((sequence, start, length, boundaries, consumer) -> {
+            boundaries.analyze(sequence, start, length, WordBoundaryDetector.getInstance());
+            this.forEachToken(sequence, boundaries, policy, consumer, buffers);
+        }, this);
+    }
+
+    @Override
+    public void forEachMatch(CharSequence sequence, int start, int length, MatchConsumer consumer) {
         byte[] bytes = this.getBytes(sequence, start, length);
+        int[] charOffsets = EncodingUtils.getCharOffsets(bytes);
         Result match = new Result();
 
-        int maxLength = length;
+        int maxLength = bytes.length;
         while (maxLength > 0) {
             this.traversal.match(match, bytes, 0, maxLength);
             if (match.getMatch() != Match.NON_TERMINAL_MATCH) {
                 break;
             }
 
-            this.iterator.restartFrom(match.getNode());
-            ByteBuffer byteBuffer = this.iterator.next();
-
-            Token token = this.createToken(sequence, bytes, 0, match.getMatchedLength());
-            token.setStart(token.getStart() + start);
-            token.setValue(StandardCharsets.UTF_8.decode(byteBuffer).toString());
-            result.add(token);
-
+            consumer.accept(start, start + charOffsets[match.getMatchedLength()], match.getNode());
             maxLength = match.getMatchedLength() - 1;
         }
+    }
 
-        return result;
+    @Override
+    public void forEachOccurrence(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachOccurrence(sequence, start, length, OverlapPolicy.allOverlapping(), consumer);
     }
 
     @Override
-    public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
-        List<Token> result = new ArrayList<>();
+    public void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer) {
+        this.forEachOccurrence(sequence, start, length, policy, consumer, new MatchBuffers());
+    }
 
-        byte[] bytes = this.getBytes(sequence, start, length);
-        Result match = new Result();
+    @Override
+    public void forEachToken(CharSequence sequence, int start, int length, MatchConsumer consumer) {
+        this.forEachToken(sequence, start, length, OverlapPolicy.allOverlapping(), consumer);
+    }
 
-        for (int i = 0; i < bytes.length - 1; i++) {
-            if (!EncodingUtils.isTokenStart(bytes, i)) {
-                continue;
-            }
+    @Override
+    public void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer) {
+        this.forEachToken(sequence, boundaries, policy, consumer, new MatchBuffers());
+    }
 
-            this.traversal.match(match, bytes, i, bytes.length - i);
-            if (match.getMatch() != Match.NON_TERMINAL_MATCH) {
-                continue;
-            }
+    @Override
+    public List<Token> getAllMatches(CharSequence sequence, int start, int length, List<Token> result) {
+        this.forEachMatch(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd, this, nodeIndex));
+        });
 
-            if (!EncodingUtils.isTokenEnd(bytes, i + match.getMatchedLength())) {
-                continue;
-            }
+        return result;
+    }
 
-            this.iterator.restartFrom(match.getNode());
-            ByteBuffer byteBuffer = this.iterator.next();
+    @Override
+    public List<Token> getAllTokens(CharSequence sequence, int start, int length) {
+        List<Token> result = new ArrayList<>();
 
-            Token token = this.createToken(sequence, bytes, i, match.getMatchedLength());
-            token.setStart(token.getStart() + start);
-            token.setValue(StandardCharsets.UTF_8.decode(byteBuffer).toString());
-            result.add(token);
-        }
+        this.forEachToken(sequence, start, length, (matchStart, matchEnd, nodeIndex) -> {
+            result.add(Token.create(sequence, matchStart, matchEnd, this, nodeIndex));
+        });
 
         return result;
     }
@@ -125,12 +159,30 @@ public class MorfologikTransducer implements Transducer {
 
     @Override
     public List<Token> getLongestOccurrences(CharSequence sequence) {
-        return TokenCandidate.eliminateOverlapping(this.getAllOccurrences(sequence));
+        TokenList tokens = this.getAllOccurrences(sequence, 0, sequence.length(), new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence, this);
     }
 
     @Override
     public List<Token> getLongestTokens(CharSequence sequence) {
-        return TokenCandidate.eliminateOverlapping(this.getAllTokens(sequence));
+        TokenList tokens = this.getAllTokens(sequence, 0, sequence.length(), new TokenList());
+        return TokenCandidate.eliminateOverlapping(tokens, new TokenList()).toTokens(sequence, this);
+    }
+
+    @Override
+    public int getMaxInputLength() {
+        if (this.maxInputLength == -1) {
+            this.maxInputLength = MorfologikAcceptor.getMaxLength(this.dictionary.fsa, this.dictionary.metadata.getSeparator());
+        }
+
+        return this.maxInputLength;
+    }
+
+    @Override
+    public CharSequence getOutput(int nodeIndex) {
+        this.iterator.restartFrom(nodeIndex);
+        ByteBuffer byteBuffer = this.iterator.next();
+        return StandardCharsets.UTF_8.decode(byteBuffer).toString();
     }
 
     @Override
@@ -163,15 +215,70 @@ public class MorfologikTransducer implements Transducer {
         return StandardCharsets.UTF_8.decode(byteBuffer).toString();
     }
 
-    private Token createToken(CharSequence sequence, byte[] bytes, int start, int length) {
-        int charOffset = EncodingUtils.getString(bytes, 0, start).length();
+    private void forEachOccurrence(CharSequence sequence, int start, int length, OverlapPolicy policy, MatchConsumer consumer,
+        MatchBuffers buffers) {
+        MatchSelection selection = policy.createSelection(consumer);
 
-        if (this.caseSensitive) {
-            return Token.create(charOffset, EncodingUtils.getString(bytes, start, length));
+        buffers.encode(sequence, start, length, !this.caseSensitive);
+        byte[] bytes = buffers.getBytes();
+        int byteCount = buffers.getLength();
+        int[] charOffsets = buffers.getCharOffsets();
+        Result match = buffers.getResult();
+
+        int limit = start;
+        for (int i = 0; i < byteCount; i++) {
+            if (!EncodingUtils.isCharStart(bytes[i]) || start + charOffsets[i] < limit) {
+                continue;
+            }
+
+            int maxLength = byteCount - i;
+            while (maxLength > 0) {
+                this.traversal.match(match, bytes, i, maxLength);
+                if (match.getMatch() != Match.NON_TERMINAL_MATCH) {
+                    break;
+                }
+
+                selection.accept(start + charOffsets[i], start + charOffsets[i + match.getMatchedLength()], match.getNode());
+                maxLength = match.getMatchedLength() - 1;
+            }
+
+            limit = selection.complete();
         }
+    }
+
+    private void forEachToken(CharSequence sequence, TokenBoundaries boundaries, OverlapPolicy policy, MatchConsumer consumer,
+        MatchBuffers buffers) {
+        MatchSelection selection = policy.createSelection(consumer);
+        int start = boundaries.getStart();
+
+        buffers.encode(sequence, start, boundaries.getLength(), !this.caseSensitive);
+        byte[] bytes = buffers.getBytes();
+        int byteCount = buffers.getLength();
+        int[] charOffsets = buffers.getCharOffsets();
+        Result match = buffers.getResult();
+
+        int limit = start;
+        for (int i = 0; i < byteCount; i++) {
+            if (!EncodingUtils.isCharStart(bytes[i]) || start + charOffsets[i] < limit) {
+                continue;
+            }
+
+            if (!boundaries.isStart(start + charOffsets[i])) {
+                continue;
+            }
+
+            this.traversal.match(match, bytes, i, byteCount - i);
+            if (match.getMatch() != Match.NON_TERMINAL_MATCH) {
+                continue;
+            }
 
-        final int charLength = EncodingUtils.getString(bytes, start, length).length();
-        return Token.create(charOffset, sequence.subSequence(charOffset, charOffset + charLength).toString());
+            if (!boundaries.isEnd(start + charOffsets[i + match.getMatchedLength()])) {
+                continue;
+            }
+
+            selection.accept(start + charOffsets[i], start + charOffsets[i + match.getMatchedLength()], match.getNode());
+            limit = selection.complete();
+        }
     }
 
     private byte[] getBytes(CharSequence sequence, int offset, int length) {
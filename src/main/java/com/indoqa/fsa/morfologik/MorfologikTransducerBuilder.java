@@ -24,6 +24,7 @@ import java.util.Locale;
 import java.util.Set;
 import java.util.TreeSet;
 
+import com.indoqa.fsa.BuildEstimate;
 import com.indoqa.fsa.TransducerBuilder;
 import com.indoqa.fsa.utils.EncodingUtils;
 
@@ -39,7 +40,10 @@ public class MorfologikTransducerBuilder implements TransducerBuilder {
 
     public static final char DEFAULT_SEPARATOR = 0x7F;
 
+    private static final int BUFFER_GROWTH_SIZE = 64 * 1024;
+
     private final Set<byte[]> inputs = new TreeSet<>(FSABuilder.LEXICAL_ORDERING);
+    private long inputBytes;
 
     private final char separator;
     private final boolean caseSensitive;
@@ -104,7 +108,10 @@ public class MorfologikTransducerBuilder implements TransducerBuilder {
         stringBuilder.append(this.separator);
         stringBuilder.append(output);
 
-        this.inputs.add(EncodingUtils.getBytes(stringBuilder));
+        byte[] bytes = EncodingUtils.getBytes(stringBuilder);
+        if (this.inputs.add(bytes)) {
+            this.inputBytes += bytes.length;
+        }
     }
 
     @Override
@@ -114,6 +121,12 @@ public class MorfologikTransducerBuilder implements TransducerBuilder {
         return new MorfologikTransducer(new Dictionary(fsa, this.dictionaryMetadata), this.caseSensitive);
     }
 
+    @Override
+    public BuildEstimate estimate() {
+        // separator and case sensitivity are written before the automaton
+        return MorfologikAcceptorBuilder.estimate(this.inputs.size(), this.inputBytes, BUFFER_GROWTH_SIZE, 2);
+    }
+
     public int size() {
         return this.inputs.size();
     }
@@ -130,7 +143,7 @@ public class MorfologikTransducerBuilder implements TransducerBuilder {
     }
 
     private FSA buildFSA() {
-        FSABuilder builder = new FSABuilder(64 * 1024);
+        FSABuilder builder = new FSABuilder(BUFFER_GROWTH_SIZE);
 
         for (byte[] eachInput : this.inputs) {
             builder.add(eachInput, 0, eachInput.length);
@@ -39,59 +39,46 @@ public final class EncodingUtils {
         return value.getBytes(CHARSET);
     }
 
-    public static String getString(byte[] bytes, int offset, int length) {
-        return new String(bytes, offset, length, CHARSET);
+    /**
+     * Determine the char offset of every byte offset within the given UTF-8 encoded <code>bytes</code>.
+     *
+     * @param bytes The UTF-8 encoded bytes.
+     * @return The char offsets, with <code>bytes.length + 1</code> elements.
+     */
+    public static int[] getCharOffsets(byte[] bytes) {
+        return getCharOffsets(bytes, bytes.length, new int[bytes.length + 1]);
     }
 
-    public static boolean isTokenEnd(byte[] bytes, int offset) {
-        if (offset == bytes.length) {
-            return true;
-            // return isWordPart(bytes[offset - 1]);
+    /**
+     * Performs the same operation as {@link #getCharOffsets(byte[])} for the first <code>length</code> bytes, but stores the char
+     * offsets in the given <code>result</code>, which must have at least <code>length + 1</code> elements.
+     *
+     * @return The given <code>result</code>.
+     */
+    public static int[] getCharOffsets(byte[] bytes, int length, int[] result) {
+        int charOffset = 0;
+        for (int i = 0; i < length; i++) {
+            result[i] = charOffset;
+
+            if (isCharStart(bytes[i])) {
+                // 4 byte sequences are encoded as surrogate pairs
+                charOffset += (bytes[i] & 0xF8) == 0xF0 ? 2 : 1;
+            }
         }
 
-        return !isWordPart(bytes[offset]);
+        result[length] = charOffset;
+        return result;
     }
 
-    public static boolean isTokenEnd(CharSequence sequence, int offset) {
-        if (offset == sequence.length() - 1) {
-            return true;
-            // return isWordPart(sequence.charAt(offset));
-        }
-
-        return !isWordPart(sequence.charAt(offset + 1));
+    public static String getString(byte[] bytes, int offset, int length) {
+        return new String(bytes, offset, length, CHARSET);
     }
 
-    public static boolean isTokenStart(byte[] bytes, int offset) {
-        if (offset == 0) {
-            return true;
-            // return isWordPart(bytes[offset]);
-        }
-
-        return !isWordPart(bytes[offset - 1]);
-    }
-
-    public static boolean isTokenStart(CharSequence sequence, int offset) {
-        if (offset == 0) {
-            return true;
-            // return isWordPart(sequence.charAt(offset));
-        }
-
-        return !isWordPart(sequence.charAt(offset - 1));
+    public static boolean isCharStart(byte value) {
+        return (value & 0xC0) != 0x80;
     }
 
     public static boolean isWordPart(char value) {
         return Character.isAlphabetic(value) || Character.isDigit(value);
     }
-
-    private static boolean isWordPart(byte value) {
-        if ((value & 0xC0) == 0xC0) {
-            return true;
-        }
-
-        if ((value & 0x80) == 0x80) {
-            return true;
-        }
-
-        return Character.isAlphabetic(value) || Character.isDigit(value);
-    }
 }
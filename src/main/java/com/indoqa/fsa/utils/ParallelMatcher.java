@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.indoqa.fsa.Acceptor;
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenList;
+import com.indoqa.fsa.Transducer;
+
+/**
+ * Finds occurrences or tokens in very large sequences by matching several chunks of the sequence concurrently in a
+ * {@link ForkJoinPool}.<br/>
+ * <br/>
+ * The sequence is split into chunks of roughly {@link #setChunkSize(int) chunkSize} chars, with every split moved forward to the
+ * next possible token start. Each chunk is scanned up to {@link Acceptor#getMaxInputLength()} chars beyond its end, so that
+ * matches crossing the border to the next chunk are found as well, but only the matches starting within the chunk are kept.
+ * The results are therefore the same as with the sequential methods of the {@link Acceptor} or {@link Transducer} and are
+ * reported in the same order.<br/>
+ * <br/>
+ * The {@link Acceptor} or {@link Transducer} must have a bounded {@link Acceptor#getMaxInputLength() maximum input length}, otherwise
+ * every chunk would have to be scanned up to the end of the sequence.<br/>
+ * <br/>
+ * The {@link Acceptor} or {@link Transducer} is used by several threads at the same time, which is supported by all implementations
+ * of this library. Instances can be shared by several threads, as long as they are not reconfigured.
+ */
+public class ParallelMatcher {
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final Scanner scanner;
+    private final int maxInputLength;
+    private final Transducer transducer;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private ParallelMatcher(Scanner scanner, int maxInputLength, Transducer transducer) {
+        super();
+
+        if (maxInputLength == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Parallel matching requires a bounded maximum input length.");
+        }
+
+        this.scanner = scanner;
+        this.maxInputLength = maxInputLength;
+        this.transducer = transducer;
+    }
+
+    /**
+     * Create a {@link ParallelMatcher} finding the same matches as
+     * {@link Acceptor#forEachOccurrence(CharSequence, int, int, MatchConsumer)}.
+     */
+    public static ParallelMatcher occurrences(Acceptor acceptor) {
+        return new ParallelMatcher(acceptor::forEachOccurrence, acceptor.getMaxInputLength(), null);
+    }
+
+    /**
+     * Create a {@link ParallelMatcher} finding the same matches as
+     * {@link Transducer#forEachOccurrence(CharSequence, int, int, MatchConsumer)}.
+     */
+    public static ParallelMatcher occurrences(Transducer transducer) {
+        return new ParallelMatcher(transducer::forEachOccurrence, transducer.getMaxInputLength(), transducer);
+    }
+
+    /**
+     * Create a {@link ParallelMatcher} finding the same matches as
+     * {@link Acceptor#forEachToken(CharSequence, int, int, MatchConsumer)}.
+     */
+    public static ParallelMatcher tokens(Acceptor acceptor) {
+        return new ParallelMatcher(acceptor::forEachToken, acceptor.getMaxInputLength(), null);
+    }
+
+    /**
+     * Create a {@link ParallelMatcher} finding the same matches as
+     * {@link Transducer#forEachToken(CharSequence, int, int, MatchConsumer)}.
+     */
+    public static ParallelMatcher tokens(Transducer transducer) {
+        return new ParallelMatcher(transducer::forEachToken, transducer.getMaxInputLength(), transducer);
+    }
+
+    public List<Token> getAll(CharSequence sequence) {
+        return this.getAll(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Find all matches between <code>start</code> and <code>start + length</code> in the given <code>sequence</code>, e.g. the same
+     * matches as {@link Acceptor#getAllTokens(CharSequence, int, int)} for a {@link ParallelMatcher} created with
+     * {@link #tokens(Acceptor)}.
+     */
+    public List<Token> getAll(CharSequence sequence, int start, int length) {
+        return this.toTokens(sequence, this.getAll(sequence, start, length, new TokenList()));
+    }
+
+    /**
+     * Performs the same operation as {@link #getAll(CharSequence, int, int)}, but appends the matches to the given
+     * <code>result</code> instead of creating {@link Token Tokens}.
+     *
+     * @return The given <code>result</code>.
+     */
+    public TokenList getAll(CharSequence sequence, int start, int length, TokenList result) {
+        int end = start + length;
+
+        int[] borders = this.getBorders(sequence, start, end);
+        if (borders.length == 2) {
+            this.scanner.scan(sequence, start, length, result);
+            return result;
+        }
+
+        result.addAll(this.pool.invoke(new ChunkTask(sequence, end, borders, 0, borders.length - 1)));
+        return result;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    public List<Token> getLongest(CharSequence sequence) {
+        return this.getLongest(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Find all matches like {@link #getAll(CharSequence, int, int)} and then eliminate overlapping matches by only keeping the
+     * longest, e.g. the same matches as {@link Acceptor#getLongestTokens(CharSequence, int, int)} for a {@link ParallelMatcher}
+     * created with {@link #tokens(Acceptor)}.
+     */
+    public List<Token> getLongest(CharSequence sequence, int start, int length) {
+        TokenList tokens = this.getAll(sequence, start, length, new TokenList());
+        return this.toTokens(sequence, TokenCandidate.eliminateOverlapping(tokens, new TokenList()));
+    }
+
+    public ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    /**
+     * Set the minimum number of chars matched by a single task. Sequences shorter than twice the chunk size are matched
+     * sequentially.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive, but was " + chunkSize + ".");
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Set the {@link ForkJoinPool} executing the tasks. The default is the {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Determine the borders of the chunks, moving each split forward until the char before it is not a word part, so that no token
+     * is split.
+     */
+    private int[] getBorders(CharSequence sequence, int start, int end) {
+        int[] result = new int[(end - start) / this.chunkSize + 1];
+        int count = 0;
+
+        result[count++] = start;
+        int border = start + this.chunkSize;
+        while (border <= end - this.chunkSize) {
+            while (border < end && EncodingUtils.isWordPart(sequence.charAt(border - 1))) {
+                border++;
+            }
+
+            if (border > end - this.chunkSize / 2) {
+                // the last chunk would be too small
+                break;
+            }
+
+            result[count++] = border;
+            border += this.chunkSize;
+        }
+        result[count++] = end;
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private List<Token> toTokens(CharSequence sequence, TokenList tokens) {
+        if (this.transducer == null) {
+            return tokens.toTokens(sequence);
+        }
+
+        return tokens.toTokens(sequence, this.transducer);
+    }
+
+    /**
+     * Matches the chunks from <code>first</code> (inclusive) to <code>last</code> (exclusive), splitting them in halves until only
+     * a single chunk is left.
+     */
+    private class ChunkTask extends RecursiveTask<TokenList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CharSequence sequence;
+        private final int end;
+        private final int[] borders;
+        private final int first;
+        private final int last;
+
+        public ChunkTask(CharSequence sequence, int end, int[] borders, int first, int last) {
+            super();
+
+            this.sequence = sequence;
+            this.end = end;
+            this.borders = borders;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected TokenList compute() {
+            if (this.last - this.first == 1) {
+                return this.scan(this.borders[this.first], this.borders[this.last]);
+            }
+
+            int middle = (this.first + this.last) >>> 1;
+            ChunkTask left = new ChunkTask(this.sequence, this.end, this.borders, this.first, middle);
+            ChunkTask right = new ChunkTask(this.sequence, this.end, this.borders, middle, this.last);
+
+            left.fork();
+            TokenList rightResult = right.compute();
+            TokenList result = left.join();
+            result.addAll(rightResult);
+            return result;
+        }
+
+        private TokenList scan(int chunkStart, int chunkEnd) {
+            TokenList result = new TokenList();
+
+            // matches starting in this chunk end at most maxInputLength chars after its end
+            int scanEnd = (int) Math.min(this.end, (long) chunkEnd + ParallelMatcher.this.maxInputLength);
+
+            ParallelMatcher.this.scanner.scan(this.sequence, chunkStart, scanEnd - chunkStart, (matchStart, matchEnd, nodeIndex) -> {
+                if (matchStart < chunkEnd) {
+                    result.add(matchStart, matchEnd, nodeIndex);
+                }
+            });
+
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Scanner {
+
+        void scan(CharSequence sequence, int start, int length, MatchConsumer consumer);
+    }
+}
@@ -17,97 +17,241 @@
 package com.indoqa.fsa.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenList;
 
-public class TokenCandidate {
+/**
+ * Resolves overlapping {@link Token Tokens}.<br/>
+ * <br/>
+ * All operations work on primitive arrays and run in O(n log n) for n candidates, regardless of how densely the candidates
+ * overlap.
+ */
+public final class TokenCandidate {
 
-    private Token token;
-    private final List<TokenCandidate> challenges = new ArrayList<>();
-    private int challengedBy;
-    private boolean selected = true;
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
 
-    public static TokenCandidate create(Token token) {
-        TokenCandidate result = new TokenCandidate();
-        result.token = token;
-        return result;
+    private TokenCandidate() {
+        // hide utility class constructor
     }
 
+    /**
+     * Eliminate overlapping tokens by preferring the longest ones.<br/>
+     * <br/>
+     * A token is kept if and only if no overlapping token with a higher priority is kept. Longer tokens have a higher priority,
+     * tokens with the same length have a higher priority when they come later in the given list.
+     *
+     * @param tokens The tokens to process.
+     * @return The remaining tokens, in the same order as given.
+     */
     public static List<Token> eliminateOverlapping(List<Token> tokens) {
-        List<TokenCandidate> candidates = tokens.stream().map(TokenCandidate::create).collect(Collectors.toList());
-
-        for (int i = 0; i < candidates.size() - 1; i++) {
-            TokenCandidate candidate = candidates.get(i);
-
-            for (int j = i + 1; j < candidates.size(); j++) {
-                TokenCandidate otherCandidate = candidates.get(j);
-                if (candidate.isDisjunct(otherCandidate)) {
-                    break;
-                }
-
-                if (candidate.getLength() > otherCandidate.getLength()) {
-                    candidate.addChallenges(otherCandidate);
-                } else {
-                    otherCandidate.addChallenges(candidate);
-                }
-            }
+        int[] starts = new int[tokens.size()];
+        int[] ends = new int[tokens.size()];
+        for (int i = 0; i < starts.length; i++) {
+            Token token = tokens.get(i);
+            starts[i] = token.getStart();
+            ends[i] = token.getEnd();
         }
 
-        boolean changed;
-        do {
-            changed = false;
+        boolean[] selected = eliminateOverlapping(starts, ends);
+        return filter(tokens, selected);
+    }
 
-            for (TokenCandidate eachCandidate : candidates) {
-                if (eachCandidate.canBeSelected()) {
-                    eachCandidate.select();
-                    changed = true;
-                }
-            }
-        } while (changed);
+    /**
+     * Performs the same operation as {@link #eliminateOverlapping(List)} for the matches of a {@link TokenList}.
+     *
+     * @param tokens The matches to process.
+     * @param result The {@link TokenList} receiving the remaining matches, in the same order as given.
+     * @return The given <code>result</code>.
+     */
+    public static TokenList eliminateOverlapping(TokenList tokens, TokenList result) {
+        int[] starts = new int[tokens.size()];
+        int[] ends = new int[tokens.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = tokens.getStart(i);
+            ends[i] = tokens.getEnd(i);
+        }
 
-        return candidates.stream().filter(TokenCandidate::isSelected).map(TokenCandidate::getToken).collect(Collectors.toList());
+        boolean[] selected = eliminateOverlapping(starts, ends);
+        return filter(tokens, selected, result);
     }
 
-    public void addChallenges(TokenCandidate otherCandidate) {
-        this.challenges.add(otherCandidate);
-        otherCandidate.challengedBy++;
+    /**
+     * Eliminate overlapping tokens so that the remaining tokens cover as many chars as possible.<br/>
+     * <br/>
+     * Unlike {@link #eliminateOverlapping(List)}, which might keep a long token that prevents two shorter ones with a larger total
+     * length, this determines the optimal selection (weighted interval scheduling). Among selections covering the same number of
+     * chars, the one with fewer tokens is preferred.
+     *
+     * @param tokens The tokens to process.
+     * @return The remaining tokens, in the same order as given.
+     */
+    public static List<Token> maximizeCoverage(List<Token> tokens) {
+        int[] starts = new int[tokens.size()];
+        int[] ends = new int[tokens.size()];
+        for (int i = 0; i < starts.length; i++) {
+            Token token = tokens.get(i);
+            starts[i] = token.getStart();
+            ends[i] = token.getEnd();
+        }
+
+        boolean[] selected = maximizeCoverage(starts, ends);
+        return filter(tokens, selected);
+    }
+
+    /**
+     * Performs the same operation as {@link #maximizeCoverage(List)} for the matches of a {@link TokenList}.
+     *
+     * @param tokens The matches to process.
+     * @param result The {@link TokenList} receiving the remaining matches, in the same order as given.
+     * @return The given <code>result</code>.
+     */
+    public static TokenList maximizeCoverage(TokenList tokens, TokenList result) {
+        int[] starts = new int[tokens.size()];
+        int[] ends = new int[tokens.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = tokens.getStart(i);
+            ends[i] = tokens.getEnd(i);
+        }
+
+        boolean[] selected = maximizeCoverage(starts, ends);
+        return filter(tokens, selected, result);
     }
 
-    public boolean canBeSelected() {
-        return this.selected && this.challengedBy == 0;
+    private static void cover(long[] covered, int from, int to) {
+        for (int i = from; i < to; i++) {
+            covered[i >>> 6] |= 1L << i;
+        }
     }
 
-    public int getLength() {
-        return this.token.getLength();
+    private static boolean[] eliminateOverlapping(int[] starts, int[] ends) {
+        int count = starts.length;
+        boolean[] result = new boolean[count];
+        if (count == 0) {
+            return result;
+        }
+
+        int offset = Integer.MAX_VALUE;
+        int limit = Integer.MIN_VALUE;
+
+        // order by priority: the length in the upper and the index in the lower half
+        long[] priorities = new long[count];
+        for (int i = 0; i < count; i++) {
+            priorities[i] = (long) (ends[i] - starts[i]) << Integer.SIZE | i;
+            offset = Math.min(offset, starts[i]);
+            limit = Math.max(limit, ends[i]);
+        }
+        Arrays.sort(priorities);
+
+        long[] covered = new long[((limit - offset) >>> 6) + 1];
+
+        for (int i = count - 1; i >= 0; i--) {
+            int index = (int) (priorities[i] & INDEX_MASK);
+            int start = starts[index] - offset;
+            int end = ends[index] - offset;
+
+            // all tokens selected so far are at least as long as this one, so any overlapping one covers its first or last char
+            if (end > start && (isCovered(covered, start) || isCovered(covered, end - 1))) {
+                continue;
+            }
+
+            cover(covered, start, end);
+            result[index] = true;
+        }
+
+        return result;
     }
 
-    public Token getToken() {
-        return this.token;
+    private static List<Token> filter(List<Token> tokens, boolean[] selected) {
+        List<Token> result = new ArrayList<>();
+
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i]) {
+                result.add(tokens.get(i));
+            }
+        }
+
+        return result;
     }
 
-    public boolean isDisjunct(TokenCandidate otherCandidate) {
-        return this.token.isDisjunct(otherCandidate.getToken());
+    private static TokenList filter(TokenList tokens, boolean[] selected, TokenList result) {
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i]) {
+                result.add(tokens.getStart(i), tokens.getEnd(i), tokens.getNodeIndex(i));
+            }
+        }
+
+        return result;
     }
 
-    public boolean isSelected() {
-        return this.selected;
+    private static boolean isCovered(long[] covered, int index) {
+        return (covered[index >>> 6] & 1L << index) != 0;
     }
 
-    public void select() {
-        for (TokenCandidate eachChallenges : this.challenges) {
-            eachChallenges.eliminate();
+    private static boolean[] maximizeCoverage(int[] starts, int[] ends) {
+        int count = starts.length;
+        boolean[] result = new boolean[count];
+        if (count == 0) {
+            return result;
+        }
+
+        // order by end: the end in the upper and the index in the lower half
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (long) ends[i] << Integer.SIZE | i;
+        }
+        Arrays.sort(order);
+
+        int[] sortedEnds = new int[count];
+        for (int i = 0; i < count; i++) {
+            sortedEnds[i] = (int) (order[i] >>> Integer.SIZE);
+        }
+
+        // values[i] is the best selection among the first i tokens: covered chars in the upper, the negated token count in the
+        // lower half, so that comparing the values prefers more covered chars and then fewer tokens
+        long[] values = new long[count + 1];
+        int[] predecessors = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            int index = (int) (order[i] & INDEX_MASK);
+
+            // the number of tokens ending at or before the start of this one
+            predecessors[i] = upperBound(sortedEnds, i, starts[index]);
+
+            long value = values[predecessors[i]] + ((long) (ends[index] - starts[index]) << Integer.SIZE) - 1;
+            values[i + 1] = Math.max(values[i], value);
         }
 
-        this.challengedBy--;
+        for (int i = count - 1; i >= 0; i = predecessors[i] - 1) {
+            while (i >= 0 && values[i + 1] == values[i]) {
+                i--;
+            }
+
+            if (i < 0) {
+                break;
+            }
+
+            result[(int) (order[i] & INDEX_MASK)] = true;
+        }
+
+        return result;
     }
 
-    private void eliminate() {
-        for (TokenCandidate eachIntersect : this.challenges) {
-            eachIntersect.challengedBy--;
+    private static int upperBound(int[] values, int length, int key) {
+        int low = 0;
+        int high = length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
         }
 
-        this.selected = false;
+        return low;
     }
 }
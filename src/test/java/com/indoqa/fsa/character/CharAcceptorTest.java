@@ -16,15 +16,35 @@
  */
 package com.indoqa.fsa.character;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
 import com.indoqa.fsa.Acceptor;
+import com.indoqa.fsa.BoundaryDetector;
+import com.indoqa.fsa.BuildEstimate;
+import com.indoqa.fsa.MatchConsumer;
+import com.indoqa.fsa.Matcher;
+import com.indoqa.fsa.OverlapPolicy;
+import com.indoqa.fsa.StreamingMatchConsumer;
+import com.indoqa.fsa.StreamingMatcher;
 import com.indoqa.fsa.TestUtils;
 import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.TokenList;
+import com.indoqa.fsa.WordBoundaryDetector;
+import com.indoqa.fsa.utils.ParallelMatcher;
 
 public class CharAcceptorTest {
 
@@ -35,6 +55,29 @@ public class CharAcceptorTest {
         return tokens.stream().map(Token::getValue).toArray(String[]::new);
     }
 
+    @Test
+    public void acceptsAll() {
+        for (boolean eachCaseSensitive : new boolean[] {true, false}) {
+            Set<String> inputs = new HashSet<>();
+            while (inputs.size() < 500) {
+                inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 8), "abcAB"));
+            }
+            CharAcceptor acceptor = CharAcceptorBuilder.build(eachCaseSensitive, inputs);
+
+            CharSequence[] candidates = new CharSequence[5_000];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = RandomStringUtils.random(RandomUtils.nextInt(0, 10), "abcAB");
+            }
+
+            BitSet result = new BitSet();
+            acceptor.acceptsAll(candidates, result);
+
+            for (int i = 0; i < candidates.length; i++) {
+                assertEquals(candidates[i].toString(), candidates[i].length() > 0 && acceptor.accepts(candidates[i]), result.get(i));
+            }
+        }
+    }
+
     @Test
     public void completionOrderCaseInsensitive() {
         CharAcceptorBuilder builder = new CharAcceptorBuilder(false);
@@ -65,6 +108,160 @@ public class CharAcceptorTest {
         assertEquals("aca", completions.get(2));
     }
 
+    @Test
+    public void counts() {
+        CharAcceptor acceptor = CharAcceptorBuilder.build(false, "Haus", "Hausbau", "Haustür", "Maus", "Mauser");
+
+        assertEquals(5, acceptor.countWithPrefix(""));
+        assertEquals(3, acceptor.countWithPrefix("haus"));
+        assertEquals(1, acceptor.countWithPrefix("Hausb"));
+        assertEquals(0, acceptor.countWithPrefix("Hausx"));
+        assertEquals(0, acceptor.countWithPrefix("Hausbaum"));
+        assertEquals(3, acceptor.countInRange("Haus", "Maus"));
+        assertEquals(2, acceptor.countInRange("Hausbau", "Hauszelt"));
+        assertEquals(0, acceptor.countInRange("Maus", "Haus"));
+        assertEquals(0, CharAcceptorBuilder.empty().countWithPrefix(""));
+
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 8), "abcdAB"));
+        }
+        CharAcceptor randomAcceptor = CharAcceptorBuilder.build(true, inputs);
+        List<String> sorted = inputs.stream().distinct().sorted().collect(toList());
+
+        for (int i = 0; i < 100; i++) {
+            String prefix = RandomStringUtils.random(RandomUtils.nextInt(0, 4), "abcdAB");
+            long expectedWithPrefix = sorted.stream().filter(input -> input.startsWith(prefix)).count();
+            assertEquals(prefix, expectedWithPrefix, randomAcceptor.countWithPrefix(prefix));
+
+            String from = RandomStringUtils.random(RandomUtils.nextInt(0, 5), "abcdAB");
+            String to = RandomStringUtils.random(RandomUtils.nextInt(0, 5), "abcdAB");
+            long expected = sorted.stream().filter(input -> input.compareTo(from) >= 0 && input.compareTo(to) < 0).count();
+            assertEquals(from + " - " + to, expected, randomAcceptor.countInRange(from, to));
+        }
+    }
+
+    @Test
+    public void cursor() {
+        CharAcceptor acceptor = CharAcceptorBuilder.build(false, "Auto", "Autobahn", "Bahn");
+        AcceptorCursor cursor = acceptor.createCursor();
+
+        assertTrue(cursor.step('a'));
+        assertTrue(cursor.step('U'));
+        assertTrue(cursor.step('t'));
+        assertFalse(cursor.isTerminal());
+        assertTrue(cursor.step('o'));
+        assertTrue(cursor.isTerminal());
+        assertNull(cursor.output());
+        assertFalse(cursor.step('x'));
+        assertTrue(cursor.isDead());
+        assertFalse(cursor.isTerminal());
+        assertEquals(4, cursor.getLength());
+
+        cursor.reset();
+        for (char eachChar : "Bahn".toCharArray()) {
+            assertTrue(cursor.step(eachChar));
+        }
+        assertTrue(cursor.isTerminal());
+        assertFalse(cursor.step('n'));
+        assertTrue(cursor.isDead());
+
+        for (int i = 0; i < 100; i++) {
+            String candidate = RandomStringUtils.random(RandomUtils.nextInt(1, 10), "AutobahnBx");
+
+            cursor.reset();
+            boolean alive = true;
+            for (int j = 0; j < candidate.length() && alive; j++) {
+                alive = cursor.step(candidate.charAt(j));
+            }
+            assertEquals(candidate, acceptor.accepts(candidate), alive && cursor.isTerminal());
+        }
+
+        assertTrue(CharAcceptorBuilder.empty().createCursor().isDead());
+    }
+
+    @Test
+    public void estimate() throws IOException {
+        Set<String> inputs = TestUtils.generateRandomStrings(STRING_COUNT);
+        CharAcceptorBuilder builder = new CharAcceptorBuilder(true);
+        builder.addAcceptedInput(inputs);
+
+        BuildEstimate estimate = builder.estimate();
+        assertEquals(STRING_COUNT, estimate.getInputCount());
+        assertTrue(estimate.getPeakHeap() > estimate.getBuilderHeap());
+
+        // duplicates and empty inputs are not counted
+        builder.addAcceptedInput(inputs.iterator().next(), "");
+        estimate = builder.estimate();
+        assertEquals(STRING_COUNT, estimate.getInputCount());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        builder.write(outputStream);
+        assertTrue("File size must not exceed the estimate.", outputStream.size() <= estimate.getFileSize());
+
+        BuildEstimate finalEstimate = builder.estimate();
+        assertTrue(finalEstimate.getRequiredLength() <= estimate.getRequiredLength());
+        assertEquals(outputStream.size(), finalEstimate.getFileSize());
+    }
+
+    @Test
+    public void forEach() {
+        Set<String> inputs = TestUtils.generateRandomStrings(STRING_COUNT);
+        CharAcceptor acceptor = CharAcceptorBuilder.build(true, inputs);
+
+        List<String> expected = new ArrayList<>();
+        acceptor.iterator().forEachRemaining(expected::add);
+
+        List<String> actual = new ArrayList<>();
+        acceptor.forEach((buffer, length, separatorIndex) -> {
+            assertEquals(-1, separatorIndex);
+            actual.add(new String(buffer, 0, length));
+        });
+
+        assertEquals(expected, actual);
+        assertEquals(inputs.size(), actual.size());
+
+        CharAcceptorBuilder.empty().forEach((buffer, length, separatorIndex) -> fail("Empty acceptor must not report entries."));
+    }
+
+    @Test
+    public void fuzzyMatches() {
+        CharAcceptor acceptor = CharAcceptorBuilder.build(false, "Haus", "Maus", "Hausbau", "Laus", "Hans", "Auto");
+
+        List<FuzzyMatch> matches = acceptor.getFuzzyMatches("haus", 1);
+        assertEquals("[Haus (0), Hans (1), Laus (1), Maus (1)]", matches.toString());
+
+        assertEquals("[Haus (0)]", acceptor.getFuzzyMatches("HAUS", 0).toString());
+        assertEquals("[Auto (1)]", acceptor.getFuzzyMatches("Aut", 1).toString());
+        assertTrue(acceptor.getFuzzyMatches("xyz", 1).isEmpty());
+        assertTrue(acceptor.getFuzzyMatches("Haus", -1).isEmpty());
+
+        Set<String> inputs = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 8), "abcd"));
+        }
+        CharAcceptor randomAcceptor = CharAcceptorBuilder.build(true, inputs);
+
+        for (int i = 0; i < 20; i++) {
+            String sequence = RandomStringUtils.random(RandomUtils.nextInt(0, 8), "abcde");
+            int maxEdits = RandomUtils.nextInt(0, 3);
+
+            Map<String, Integer> expected = new TreeMap<>();
+            for (String eachInput : inputs) {
+                int distance = StringUtils.getLevenshteinDistance(sequence, eachInput);
+                if (distance <= maxEdits) {
+                    expected.put(eachInput, distance);
+                }
+            }
+
+            Map<String, Integer> actual = new TreeMap<>();
+            for (FuzzyMatch eachMatch : randomAcceptor.getFuzzyMatches(sequence, maxEdits)) {
+                assertNull(actual.put(eachMatch.getInput(), eachMatch.getDistance()));
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
     @Test
     public void getCompletions() {
         CharAcceptorBuilder builder = new CharAcceptorBuilder(false);
@@ -160,6 +357,16 @@ public class CharAcceptorTest {
             getValues(acceptor.getLongestOccurrences(sequence)));
     }
 
+    @Test
+    public void getOccurrencesInWindow() {
+        Acceptor acceptor = CharAcceptorBuilder.build(true, "lang", "langsam");
+        String sequence = "ein langsamer Zug";
+
+        assertArrayEquals(new String[] {"lang"}, getValues(acceptor.getAllOccurrences(sequence, 0, 9)));
+        assertArrayEquals(new String[] {"lang", "langsam"}, getValues(acceptor.getAllOccurrences(sequence, 4, 7)));
+        assertArrayEquals(new String[0], getValues(acceptor.getAllOccurrences(sequence, 5, 10)));
+    }
+
     @Test
     public void getTokens() {
         CharAcceptorBuilder builder = new CharAcceptorBuilder(false);
@@ -182,6 +389,143 @@ public class CharAcceptorTest {
             getValues(acceptor.getLongestTokens(sequence)));
     }
 
+    @Test
+    public void ignoringCase() {
+        CharAcceptor acceptor = CharAcceptorBuilder.build(true, "Wien", "WIEN", "wiener", "Linz");
+        Acceptor ignoringCase = acceptor.ignoringCase();
+
+        assertFalse(acceptor.accepts("wien"));
+        assertTrue(ignoringCase.accepts("wien"));
+        assertTrue(ignoringCase.accepts("WIENER"));
+        assertFalse(ignoringCase.accepts("wie"));
+        assertEquals("LINZ", ignoringCase.getLongestMatch("LINZ AG"));
+
+        Set<String> inputs = new HashSet<>();
+        while (inputs.size() < 1_000) {
+            inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 6), "abcAB"));
+        }
+        CharAcceptor caseInsensitive = CharAcceptorBuilder.build(false, inputs);
+        assertSame(caseInsensitive, caseInsensitive.ignoringCase());
+
+        ignoringCase = CharAcceptorBuilder.build(true, inputs).ignoringCase();
+
+        String sequence = RandomStringUtils.random(10_000, "abcABC ");
+        assertEquals(caseInsensitive.getAllOccurrences(sequence).toString(), ignoringCase.getAllOccurrences(sequence).toString());
+        assertEquals(caseInsensitive.getAllTokens(sequence).toString(), ignoringCase.getAllTokens(sequence).toString());
+    }
+
+    @Test
+    public void matcher() {
+        Set<String> inputs = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 6), "ab -"));
+        }
+        Acceptor acceptor = CharAcceptorBuilder.build(true, inputs);
+
+        Matcher occurrences = acceptor.createOccurrenceMatcher(OverlapPolicy.leftmostLongest());
+        Matcher tokens = acceptor.createTokenMatcher(OverlapPolicy.allOverlapping());
+        BoundaryDetector hyphenatedWords = new WordBoundaryDetector() {
+
+            @Override
+            protected boolean isWordPart(CharSequence charSequence, int index) {
+                return charSequence.charAt(index) == '-' || super.isWordPart(charSequence, index);
+            }
+        };
+        Matcher hyphenatedTokens = Matcher.tokens(acceptor, OverlapPolicy.leftmostFirst(), hyphenatedWords);
+
+        for (int i = 0; i < 100; i++) {
+            String sequence = RandomStringUtils.random(RandomUtils.nextInt(0, 100), "ab -");
+
+            assertEquals(
+                acceptor.getOccurrences(sequence, OverlapPolicy.leftmostLongest()).toString(),
+                occurrences.reset(sequence).getTokens().toString());
+            assertEquals(
+                acceptor.getAllTokens(sequence, 0, sequence.length(), new TokenList()).toString(),
+                tokens.reset(sequence).getMatches().toString());
+
+            int start = Math.min(2, sequence.length());
+            TokenBoundaries boundaries = TokenBoundaries.create(sequence, start, (sequence.length() - start) / 2, hyphenatedWords);
+            List<Token> expected = acceptor.getTokens(sequence, boundaries, OverlapPolicy.leftmostFirst());
+            hyphenatedTokens.reset(sequence, start, (sequence.length() - start) / 2);
+            for (Token eachExpected : expected) {
+                assertTrue(hyphenatedTokens.find());
+                assertEquals(eachExpected.getStart(), hyphenatedTokens.getStart());
+                assertEquals(eachExpected.getEnd(), hyphenatedTokens.getEnd());
+                assertEquals(eachExpected.getValue(), hyphenatedTokens.getValue().toString());
+            }
+            assertFalse(hyphenatedTokens.find());
+        }
+
+        try {
+            tokens.getStart();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void normalizing() {
+        CharNormalizer normalizer = MappingCharNormalizer.createDefault();
+        assertEquals("Cafe effizient Munchen", normalizer.normalize("Caf\u00E9 e\uFB00i\u00ADzient M\u00FCnchen"));
+
+        CharAcceptorBuilder builder = new CharAcceptorBuilder(false);
+        builder.addAcceptedInput(normalizer.normalize("M\u00FCnchen"));
+        builder.addAcceptedInput(normalizer.normalize("effizient"));
+        builder.addAcceptedInput(normalizer.normalize("Zentrum"));
+        Acceptor acceptor = builder.build().normalizing(normalizer);
+
+        String sequence = "Das \u00ADMu\u0308nchner Zen\u00ADtrum arbeitet e\uFB03zient in MUNCHEN\u00AD.";
+        assertArrayEquals(
+            new String[] {"Zen\u00ADtrum [15, 23]", "e\uFB03zient [33, 40]", "MUNCHEN [44, 51]"},
+            acceptor.getAllTokens(sequence).stream().map(Token::toString).toArray(String[]::new));
+
+        assertTrue(acceptor.accepts("m\u00FCn\u200Bchen"));
+        assertFalse(acceptor.accepts("\u00ADMunchen"));
+        assertFalse(acceptor.accepts("e\uFB00"));
+        assertEquals("Zentrum", acceptor.getLongestMatch("Zentrum\u00AD"));
+
+        // skipped chars make the length of a match unbounded
+        assertEquals(Integer.MAX_VALUE, acceptor.getMaxInputLength());
+        try {
+            StreamingMatcher.tokens(acceptor);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            ParallelMatcher.occurrences(acceptor);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void overlapPolicies() {
+        Acceptor acceptor = CharAcceptorBuilder.build(false, "lang", "langsam", "sam fahr", "fahrender");
+        String sequence = "Ein langsam fahrender Zug";
+
+        assertArrayEquals(
+            new String[] {"lang", "langsam", "sam fahr", "fahrender"},
+            getValues(acceptor.getOccurrences(sequence, OverlapPolicy.allOverlapping())));
+        assertArrayEquals(
+            new String[] {"langsam", "fahrender"},
+            getValues(acceptor.getOccurrences(sequence, OverlapPolicy.leftmostLongest())));
+        assertArrayEquals(
+            new String[] {"lang", "sam fahr"},
+            getValues(acceptor.getOccurrences(sequence, OverlapPolicy.leftmostFirst())));
+        assertArrayEquals(
+            new String[] {"lang", "sam fahr"},
+            getValues(acceptor.getOccurrences(sequence, OverlapPolicy.priority((start, end, nodeIndex) -> start - end))));
+        assertArrayEquals(
+            new String[] {"langsam", "fahrender"},
+            getValues(acceptor.getTokens(sequence, OverlapPolicy.leftmostLongest())));
+        assertArrayEquals(
+            new String[] {"fahrender"},
+            getValues(acceptor.getTokens(sequence, 8, 17, OverlapPolicy.leftmostFirst())));
+    }
+
     @Test
     public void overlapping() {
         Acceptor acceptor = CharAcceptorBuilder.build(false, "sch", "s");
@@ -214,6 +558,60 @@ public class CharAcceptorTest {
         assertFalse(acceptor.accepts("223"));
     }
 
+    @Test
+    public void parallelMatching() {
+        Acceptor acceptor = CharAcceptorBuilder.build(false, "a", "b", "ab", "ba", "aab", "bab", "a b", "ab ba", "ä");
+        String sequence = RandomStringUtils.random(200_000, "aabbä .");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelMatcher tokens = ParallelMatcher.tokens(acceptor);
+            tokens.setChunkSize(1_000);
+            tokens.setPool(pool);
+
+            assertEquals(
+                acceptor.getAllTokens(sequence, 0, sequence.length(), new TokenList()).toString(),
+                tokens.getAll(sequence, 0, sequence.length(), new TokenList()).toString());
+            assertEquals(acceptor.getLongestTokens(sequence).toString(), tokens.getLongest(sequence).toString());
+            assertEquals(acceptor.getLongestTokens(sequence, 5, 150_000).toString(), tokens.getLongest(sequence, 5, 150_000).toString());
+
+            ParallelMatcher occurrences = ParallelMatcher.occurrences(acceptor);
+            occurrences.setChunkSize(1_000);
+            occurrences.setPool(pool);
+
+            assertEquals(acceptor.getAllOccurrences(sequence).toString(), occurrences.getAll(sequence).toString());
+            assertEquals(acceptor.getLongestOccurrences(sequence).toString(), occurrences.getLongest(sequence).toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void patternMatches() {
+        CharAcceptor acceptor = CharAcceptorBuilder
+            .build(false, "Schulhaus", "Schulgebäude", "Schulweghaus", "Rathaus", "2019-03", "1999");
+
+        assertEquals(
+            Arrays.asList("Schulhaus", "Schulweghaus"),
+            acceptor.getPatternMatches(CharPattern.wildcard("schul*haus"), Integer.MAX_VALUE));
+        assertEquals(Arrays.asList("1999", "2019-03"), acceptor.getPatternMatches(CharPattern.compile("[0-9]{4}(-.*)?"), 10));
+        assertEquals(1, acceptor.getPatternMatches(CharPattern.compile(".*haus"), 1).size());
+        assertTrue(acceptor.getPatternMatches(CharPattern.compile("x.*"), 10).isEmpty());
+
+        Set<String> inputs = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 10), "abcd"));
+        }
+        CharAcceptor randomAcceptor = CharAcceptorBuilder.build(true, inputs);
+
+        for (String eachRegex : new String[] {"a.*b", "[ab]{3}c?", "(ab|cd)+", "d*a?d*"}) {
+            java.util.regex.Pattern regex = java.util.regex.Pattern.compile(eachRegex);
+            List<String> expected = inputs.stream().filter(input -> regex.matcher(input).matches()).sorted().collect(toList());
+
+            assertEquals(eachRegex, expected, randomAcceptor.getPatternMatches(CharPattern.compile(eachRegex), Integer.MAX_VALUE));
+        }
+    }
+
     @Test
     public void randomAccepts() {
         Set<String> inputs = TestUtils.generateRandomStrings(STRING_COUNT);
@@ -276,4 +674,229 @@ public class CharAcceptorTest {
             new String[] {".", ".", ".", ".", ".", ","},
             acceptor.getLongestOccurrences(".....,").stream().map(Token::getOriginal).toArray(String[]::new));
     }
+
+    @Test
+    public void skipSearch() {
+        CharAcceptor empty = CharAcceptorBuilder.empty();
+        assertEquals(0, empty.getMinInputLength());
+        assertTrue(empty.createSkipSearch().getAllOccurrences("abc").isEmpty());
+
+        for (int i = 0; i < 50; i++) {
+            boolean caseSensitive = i % 2 == 0;
+            int minLength = RandomUtils.nextInt(1, 12);
+
+            Set<String> inputs = new HashSet<>();
+            for (int j = 0; j < 100; j++) {
+                inputs.add(RandomStringUtils.random(RandomUtils.nextInt(minLength, minLength + 5), "abcdeABC\u00E4\u0100"));
+            }
+            CharAcceptor acceptor = CharAcceptorBuilder.build(caseSensitive, inputs);
+            assertEquals(inputs.stream().mapToInt(String::length).min().getAsInt(), acceptor.getMinInputLength());
+
+            SkipSearch skipSearch = acceptor.createSkipSearch();
+            assertEquals(minLength, skipSearch.getWindowLength());
+
+            for (int j = 0; j < 20; j++) {
+                String sequence = RandomStringUtils.random(RandomUtils.nextInt(0, 500), "abcdeABC\u00E4\u00C4\u0100\u0101xyz ");
+                int start = RandomUtils.nextInt(0, sequence.length() + 1);
+                int length = RandomUtils.nextInt(0, sequence.length() - start + 1);
+
+                assertEquals(
+                    acceptor.getAllOccurrences(sequence, start, length).toString(),
+                    skipSearch.getAllOccurrences(sequence, start, length).toString());
+
+                TokenList selected = new TokenList();
+                skipSearch.forEachOccurrence(sequence, start, length, OverlapPolicy.leftmostLongest(), selected);
+                assertEquals(
+                    acceptor.getOccurrences(sequence, start, length, OverlapPolicy.leftmostLongest()).toString(),
+                    selected.toTokens(sequence).toString());
+            }
+        }
+    }
+
+    @Test
+    public void startFilter() {
+        for (int i = 0; i < 50; i++) {
+            boolean caseSensitive = i % 2 == 0;
+
+            Set<String> inputs = new HashSet<>();
+            for (int j = 0; j < 30; j++) {
+                inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 5), "abcdAB\u00E4\u00C4-"));
+            }
+            CharAcceptor acceptor = CharAcceptorBuilder.build(caseSensitive, inputs);
+
+            for (int j = 0; j < 20; j++) {
+                String sequence = RandomStringUtils.random(RandomUtils.nextInt(0, 200), "abcdefABC\u00E4\u00C4- ");
+                int start = RandomUtils.nextInt(0, sequence.length() + 1);
+                int length = RandomUtils.nextInt(0, sequence.length() - start + 1);
+
+                // every position without the filter
+                TokenList expected = new TokenList();
+                for (int k = start; k < start + length; k++) {
+                    acceptor.forEachMatch(sequence, k, start + length - k, expected);
+                }
+                assertEquals(expected.toString(), acceptor.getAllOccurrences(sequence, start, length, new TokenList()).toString());
+
+                TokenBoundaries boundaries = TokenBoundaries.create(sequence, start, length);
+                TokenList expectedTokens = new TokenList();
+                for (int k = 0; k < expected.size(); k++) {
+                    if (boundaries.isStart(expected.getStart(k)) && boundaries.isEnd(expected.getEnd(k))) {
+                        expectedTokens.add(expected.getStart(k), expected.getEnd(k), expected.getNodeIndex(k));
+                    }
+                }
+                assertEquals(expectedTokens.toString(), acceptor.getAllTokens(sequence, start, length, new TokenList()).toString());
+            }
+        }
+    }
+
+    @Test
+    public void streaming() throws IOException {
+        Set<String> inputs = new HashSet<>();
+        while (inputs.size() < 200) {
+            inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 12), "ab c"));
+        }
+        CharAcceptor acceptor = CharAcceptorBuilder.build(false, inputs);
+        assertEquals(inputs.stream().mapToInt(String::length).max().getAsInt(), acceptor.getMaxInputLength());
+
+        String text = RandomStringUtils.random(20_000, "abAB c.");
+
+        for (boolean eachTokens : new boolean[] {false, true}) {
+            StreamingMatcher matcher = eachTokens ? StreamingMatcher.tokens(acceptor) : StreamingMatcher.occurrences(acceptor);
+
+            List<String> expected = new ArrayList<>();
+            MatchConsumer collector = (start, end, nodeIndex) -> expected.add(start + "-" + end + ":" + text.substring(start, end));
+            if (eachTokens) {
+                acceptor.forEachToken(text, 0, text.length(), collector);
+            } else {
+                acceptor.forEachOccurrence(text, 0, text.length(), collector);
+            }
+
+            List<String> actual = new ArrayList<>();
+            StreamingMatchConsumer consumer = (start, end, nodeIndex) -> {
+                actual.add(start + "-" + end + ":" + matcher.getText(start, end));
+            };
+
+            int offset = 0;
+            while (offset < text.length()) {
+                int chunkLength = Math.min(RandomUtils.nextInt(1, 50), text.length() - offset);
+                matcher.append(text.subSequence(offset, offset + chunkLength), consumer);
+                offset += chunkLength;
+            }
+            matcher.finish(consumer);
+            assertEquals(expected, actual);
+
+            actual.clear();
+            matcher.match(new StringReader(text), consumer);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void topCompletions() throws IOException {
+        CharAcceptorBuilder builder = new CharAcceptorBuilder(false);
+        builder.addWeightedInput("Haus", 10);
+        builder.addWeightedInput("Hausbau", 50);
+        builder.addWeightedInput("Hausarzt", 30);
+        builder.addWeightedInput("Haustür", 40);
+        builder.addAcceptedInput("Hausboot");
+        builder.addWeightedInput("Maus", 100);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        builder.write(outputStream);
+        assertEquals(outputStream.size(), builder.estimate().getFileSize());
+
+        CharAcceptor readAcceptor = CharAcceptorBuilder.read(new ByteArrayInputStream(outputStream.toByteArray()));
+        for (CharAcceptor eachAcceptor : Arrays.asList(builder.build(), readAcceptor)) {
+            assertEquals(Arrays.asList("hausbau", "haustür", "hausarzt"), eachAcceptor.getTopCompletions("haus", 3));
+            assertEquals(Arrays.asList("Maus", "Hausbau"), eachAcceptor.getTopCompletions("", 2));
+            assertEquals(Arrays.asList("Hausboot"), eachAcceptor.getTopCompletions("Hausbo", 5));
+            assertTrue(eachAcceptor.getTopCompletions("x", 5).isEmpty());
+        }
+
+        Map<String, Integer> weights = new HashMap<>();
+        CharAcceptorBuilder randomBuilder = new CharAcceptorBuilder(true);
+        for (int i = 0; i < 5_000; i++) {
+            String input = RandomStringUtils.random(RandomUtils.nextInt(1, 8), "abcd");
+            int weight = RandomUtils.nextInt(0, 1_000);
+            weights.merge(input, weight, Math::max);
+            randomBuilder.addWeightedInput(input, weight);
+        }
+        CharAcceptor randomAcceptor = randomBuilder.build();
+
+        for (String eachPrefix : new String[] {"", "a", "ab", "dcb", "abcd"}) {
+            List<Integer> expected = weights.entrySet().stream().filter(entry -> entry.getKey().startsWith(eachPrefix))
+                .map(Map.Entry::getValue).sorted(Comparator.reverseOrder()).limit(10).collect(toList());
+            List<Integer> actual = randomAcceptor.getTopCompletions(eachPrefix, 10).stream().map(weights::get).collect(toList());
+            assertEquals(eachPrefix, expected, actual);
+        }
+    }
+
+    @Test
+    public void suffixMatches() throws IOException {
+        String[] inputs = {"Haus", "Tür", "Haustür", "ür", "Ur", "🚗"};
+
+        CharAcceptorBuilder builder = new CharAcceptorBuilder(false);
+        builder.setSuffixMatching(true);
+        builder.addAcceptedInput(inputs);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        builder.write(outputStream);
+        assertEquals(outputStream.size(), builder.estimate().getFileSize());
+
+        CharAcceptor readAcceptor = CharAcceptorBuilder.read(new ByteArrayInputStream(outputStream.toByteArray()));
+        CharAcceptor plainAcceptor = CharAcceptorBuilder.build(false, inputs);
+
+        for (CharAcceptor eachAcceptor : Arrays.asList(builder.build(), readAcceptor, plainAcceptor)) {
+            assertArrayEquals(new String[] {"ür", "tür", "haustür"}, eachAcceptor.getAllSuffixMatches("Gartenhaustür"));
+            assertEquals("haustür", eachAcceptor.getLongestSuffixMatch("Gartenhaustür"));
+            assertEquals("haus", eachAcceptor.getLongestSuffixMatch("Gartenhaustür", 0, 10));
+            assertEquals("🚗", eachAcceptor.getLongestSuffixMatch("Auto🚗"));
+            assertNull(eachAcceptor.getLongestSuffixMatch("Garten"));
+            assertTrue(eachAcceptor.accepts("haustür"));
+        }
+    }
+
+    @Test
+    public void tokenBoundaries() {
+        Acceptor acceptor = CharAcceptorBuilder.build(false, "e-mail", "mail", "a", "r", "ü");
+        String sequence = "Eine e-mail für a und ü";
+
+        assertArrayEquals(
+            new String[] {"e-mail", "mail", "a", "ü"},
+            getValues(acceptor.getTokens(sequence, OverlapPolicy.allOverlapping())));
+
+        BoundaryDetector hyphenatedWords = new WordBoundaryDetector() {
+
+            @Override
+            protected boolean isWordPart(CharSequence charSequence, int index) {
+                return charSequence.charAt(index) == '-' || super.isWordPart(charSequence, index);
+            }
+        };
+        TokenBoundaries boundaries = TokenBoundaries.create(sequence, 0, sequence.length(), hyphenatedWords);
+        assertArrayEquals(
+            new String[] {"e-mail", "a", "ü"},
+            getValues(acceptor.getTokens(sequence, boundaries, OverlapPolicy.allOverlapping())));
+
+        boundaries.analyze(sequence, 7, 10, hyphenatedWords);
+        assertArrayEquals(new String[] {"a"}, getValues(acceptor.getTokens(sequence, boundaries, OverlapPolicy.allOverlapping())));
+    }
+
+    @Test
+    public void tokenList() {
+        Acceptor acceptor = CharAcceptorBuilder.build(false, "lang", "langsam", "Zug");
+        TokenList tokenList = new TokenList(1);
+
+        String sequence = "ein langsamer Zug";
+        acceptor.getAllOccurrences(sequence, 0, sequence.length(), tokenList);
+        assertEquals(3, tokenList.size());
+        assertEquals(4, tokenList.getStart(1));
+        assertEquals(11, tokenList.getEnd(1));
+        assertArrayEquals(getValues(acceptor.getAllOccurrences(sequence)), getValues(tokenList.toTokens(sequence)));
+
+        tokenList.clear();
+        assertTrue(tokenList.isEmpty());
+
+        sequence = "ein langer Zug";
+        acceptor.getAllTokens(sequence, 0, sequence.length(), tokenList);
+        assertArrayEquals(new String[] {"Zug"}, getValues(tokenList.toTokens(sequence)));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CharMultiAcceptorTest {
+
+    private static final int PERSONS = 0;
+    private static final int PLACES = 1;
+    private static final int PRODUCTS = 2;
+
+    private static BitSet ids(int... ids) {
+        BitSet result = new BitSet();
+
+        for (int eachId : ids) {
+            result.set(eachId);
+        }
+
+        return result;
+    }
+
+    private static String toString(List<TaggedToken> tokens) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (TaggedToken eachToken : tokens) {
+            stringBuilder.append(eachToken).append('\n');
+        }
+
+        return stringBuilder.toString();
+    }
+
+    @Test
+    public void lookup() throws IOException {
+        CharMultiAcceptorBuilder builder = new CharMultiAcceptorBuilder(false);
+        builder.addAcceptedInput(PERSONS, "Paris Hilton", "Georg", "Wien");
+        builder.addAcceptedInput(PLACES, "Paris", "Wien", "St. Georgen");
+        builder.addAcceptedInput(PRODUCTS, "Paris Hilton");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        builder.write(outputStream);
+        CharMultiAcceptor acceptor = CharMultiAcceptorBuilder.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertEquals(ids(PERSONS, PLACES), acceptor.getDictionaries("wien"));
+        assertEquals(ids(PERSONS, PRODUCTS), acceptor.getDictionaries("Paris Hilton"));
+        assertEquals(ids(PLACES), acceptor.getDictionaries("PARIS"));
+        assertEquals(ids(), acceptor.getDictionaries("Pari"));
+        assertEquals(ids(), acceptor.getDictionaries("Paris "));
+        assertTrue(acceptor.accepts("st. georgen"));
+        assertFalse(acceptor.accepts("Georgen"));
+
+        try {
+            builder.addAcceptedInput(CharMultiAcceptor.MAX_DICTIONARY_COUNT, "Linz");
+            fail("Dictionary ids must be limited");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void tokens() {
+        CharMultiAcceptorBuilder builder = new CharMultiAcceptorBuilder(true);
+        builder.addAcceptedInput(PERSONS, "Paris Hilton", "Georg");
+        builder.addAcceptedInput(PLACES, "Paris", "Wien", "St. Georgen");
+        builder.addAcceptedInput(PRODUCTS, "Paris Hilton", "Hilton");
+        CharMultiAcceptor acceptor = builder.build();
+
+        String sequence = "Paris Hilton besucht St. Georgen bei Wien.";
+        assertEquals(
+            "Paris [0, 5] {1}\nParis Hilton [0, 12] {0, 2}\nHilton [6, 12] {2}\nSt. Georgen [21, 32] {1}\nWien [37, 41] {1}\n",
+            toString(acceptor.getAllTokens(sequence)));
+        assertEquals(
+            "Paris [0, 5] {1}\nParis Hilton [0, 12] {0, 2}\nHilton [6, 12] {2}\nSt. Georgen [21, 32] {1}\nGeorg [25, 30] {0}\n"
+                + "Wien [37, 41] {1}\n",
+            toString(acceptor.getAllOccurrences(sequence)));
+        assertEquals("Hilton [6, 12] {2}\n", toString(acceptor.getAllTokens(sequence, 3, 15)));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static org.junit.Assert.*;
+
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+public class CharPatternTest {
+
+    private static final String[] REGEXES = {"", "a", "ab|c", "a*b", "(ab)+", "a?b?c?", "[a-c]{2}", "[^a]+", "a{1,3}b{2,}",
+        "(a|bc)*d", ".b.", "\\d+-\\w*", "[a\\d]x?", "(a|)b", "\\.\\*", "((a{0,2})b)?c"};
+
+    @Test
+    public void caseInsensitive() {
+        assertTrue(CharPattern.compile("[a-c]+X").matches("AbCx", false));
+        assertFalse(CharPattern.compile("[a-c]+X").matches("AbCx", true));
+    }
+
+    @Test
+    public void invalid() {
+        for (String eachRegex : new String[] {"(a", "a)", "*a", "a{3,2}", "[a", "[c-a]", "\\p", "a{2"}) {
+            try {
+                CharPattern.compile(eachRegex);
+                fail("Expected an exception for '" + eachRegex + "'.");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void nestedRepetitions() {
+        assertTrue(CharPattern.compile("(a{10}){100}").matches(StringUtils.repeat('a', 1_000), true));
+
+        for (String eachRegex : new String[] {"(a{1000}){1000}", "((a{1000}){1000}){1000}", "((a|b){1000}c){200}"}) {
+            try {
+                CharPattern.compile(eachRegex);
+                fail("Expected an exception for '" + eachRegex + "'.");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void randomMatches() {
+        for (String eachRegex : REGEXES) {
+            CharPattern pattern = CharPattern.compile(eachRegex);
+            Pattern expected = Pattern.compile(eachRegex);
+
+            for (int i = 0; i < 2_000; i++) {
+                String candidate = RandomStringUtils.random(RandomUtils.nextInt(0, 7), "abcdx1-.*");
+                assertEquals(eachRegex + " / " + candidate, expected.matcher(candidate).matches(), pattern.matches(candidate, true));
+            }
+        }
+    }
+
+    @Test
+    public void wildcard() {
+        CharPattern pattern = CharPattern.wildcard("schul*haus?");
+
+        assertTrue(pattern.matches("schulhause", true));
+        assertTrue(pattern.matches("schulgebäudehaus1", true));
+        assertFalse(pattern.matches("schulhaus", true));
+        assertTrue(CharPattern.wildcard("a.b(c)").matches("a.b(c)", true));
+        assertFalse(CharPattern.wildcard("a.b").matches("axb", true));
+    }
+}
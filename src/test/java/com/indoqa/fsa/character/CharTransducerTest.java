@@ -23,12 +23,20 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
 import org.junit.Test;
 
+import com.indoqa.fsa.MatchSelection;
+import com.indoqa.fsa.Matcher;
+import com.indoqa.fsa.OverlapPolicy;
+import com.indoqa.fsa.StreamingMatcher;
 import com.indoqa.fsa.TestUtils;
 import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenList;
 import com.indoqa.fsa.Transducer;
 import com.indoqa.fsa.TransducerBuilder;
+import com.indoqa.fsa.utils.ParallelMatcher;
 
 public class CharTransducerTest {
 
@@ -115,6 +123,86 @@ public class CharTransducerTest {
         }
     }
 
+    @Test
+    public void cursor() {
+        CharTransducer transducer = CharTransducerBuilder.build(false, "#", "Auto#PKW", "Autobahn#Straße", "Bahn#");
+        AcceptorCursor cursor = transducer.createCursor();
+
+        for (char eachChar : "aut".toCharArray()) {
+            assertTrue(cursor.step(eachChar));
+            assertNull(cursor.output());
+        }
+        assertTrue(cursor.step('O'));
+        assertTrue(cursor.isTerminal());
+        assertEquals("PKW", cursor.output());
+
+        assertTrue(cursor.step('b'));
+        assertFalse(cursor.isTerminal());
+        assertFalse(cursor.step('#'));
+        assertTrue(cursor.isDead());
+
+        cursor.reset();
+        for (char eachChar : "Bahn".toCharArray()) {
+            assertTrue(cursor.step(eachChar));
+        }
+        assertEquals("", cursor.output());
+    }
+
+    @Test
+    public void forEach() {
+        CharTransducerBuilder builder = new CharTransducerBuilder(true, '#');
+        for (int i = 0; i < 1_000; i++) {
+            String input = RandomStringUtils.random(RandomUtils.nextInt(1, 8), "abcAB");
+            builder.add(input, input.toUpperCase(Locale.ROOT) + i % 10);
+        }
+        CharTransducer transducer = builder.build();
+
+        List<String> expected = new ArrayList<>();
+        transducer.iterator().forEachRemaining(token -> expected.add(token.getOriginal() + "->" + token.getValue()));
+
+        List<String> actual = new ArrayList<>();
+        transducer.forEach((buffer, length, separatorIndex) -> {
+            String input = new String(buffer, 0, separatorIndex);
+            actual.add(input + "->" + new String(buffer, separatorIndex + 1, length - separatorIndex - 1));
+        });
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void forEachOccurrence() {
+        TransducerBuilder builder = new CharTransducerBuilder(false);
+        builder.add("Straße", "street");
+        builder.add("ße", "sse");
+        builder.add("🚗", "car");
+        Transducer transducer = builder.build();
+
+        String sequence = "Ein 🚗 auf der STRASSE oder Straße";
+        List<String> matches = new ArrayList<>();
+        transducer.forEachOccurrence(sequence, 0, sequence.length(), (start, end, nodeIndex) -> {
+            matches.add(sequence.substring(start, end) + "=" + transducer.getOutput(nodeIndex));
+        });
+        assertEquals(Arrays.asList("🚗=car", "Straße=street", "ße=sse"), matches);
+
+        matches.clear();
+        transducer.forEachMatch(sequence, 28, 6, (start, end, nodeIndex) -> {
+            matches.add(start + "-" + end + "=" + transducer.getOutput(nodeIndex));
+        });
+        assertEquals(Arrays.asList("28-34=street"), matches);
+    }
+
+    @Test
+    public void fuzzyMatches() {
+        CharTransducer transducer = CharTransducerBuilder.build(false, "#", "Haus#house", "Maus#mouse", "Hausbau#construction");
+
+        List<FuzzyMatch> matches = transducer.getFuzzyMatches("hauss", 1);
+        assertEquals("[Haus -> house (1)]", matches.toString());
+        assertEquals("house", matches.get(0).getOutput());
+
+        assertEquals("[Haus -> house (0), Maus -> mouse (1)]", transducer.getFuzzyMatches("HAUS", 1).toString());
+        assertEquals("[Hausbau -> construction (2)]", transducer.getFuzzyMatches("Hausb", 2).subList(1, 2).toString());
+    }
+
     @Test
     public void getAll1() {
         TransducerBuilder builder = new CharTransducerBuilder(true);
@@ -184,6 +272,116 @@ public class CharTransducerTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void lazyTokens() {
+        Transducer transducer = CharTransducerBuilder.build(false, "#", "Auto#car", "Bahn#train");
+
+        List<Token> tokens = transducer.getAllTokens("Auto und Bahn");
+        assertEquals(2, tokens.size());
+        assertEquals("Auto", tokens.get(0).getOriginal());
+        assertEquals("car", tokens.get(0).getValue());
+
+        Token token = tokens.get(1);
+        token.setStart(token.getStart() + 10);
+        assertEquals(19, token.getStart());
+        assertEquals("Bahn", token.getOriginal());
+        assertEquals("train", token.getValue());
+    }
+
+    @Test
+    public void matcher() {
+        Transducer transducer = CharTransducerBuilder.build(false, "#", "New#1", "New York#2", "York City#3", "City#4");
+        Matcher matcher = transducer.createTokenMatcher(OverlapPolicy.leftmostLongest());
+
+        matcher.reset("New York City");
+        assertTrue(matcher.find());
+        assertEquals(0, matcher.getStart());
+        assertEquals(8, matcher.getEnd());
+        assertEquals("2", matcher.getValue().toString());
+        assertTrue(matcher.find());
+        assertEquals("4", matcher.getValue().toString());
+        assertFalse(matcher.find());
+
+        List<Token> tokens = matcher.reset("York City in New York").getTokens();
+        assertEquals(Arrays.asList("3 [0, 9]", "2 [13, 21]"), tokens.stream().map(Token::toString).collect(Collectors.toList()));
+
+        // the tokens are reused for the next sequence
+        Token token = tokens.get(0);
+        assertSame(tokens, matcher.reset("Newark and New York").getTokens());
+        assertSame(token, tokens.get(0));
+        assertEquals(Arrays.asList("2 [11, 19]"), tokens.stream().map(Token::toString).collect(Collectors.toList()));
+
+        matcher.reset("Newark");
+        assertTrue(matcher.getMatches().isEmpty());
+        assertTrue(matcher.getTokens().isEmpty());
+
+        Matcher occurrences = transducer.createOccurrenceMatcher(OverlapPolicy.allOverlapping());
+        assertEquals(4, occurrences.reset("New York City York").getMatches().size());
+    }
+
+    @Test
+    public void maxInputLength() {
+        assertEquals(0, new CharTransducerBuilder(true).build().getMaxInputLength());
+        assertEquals(3, CharTransducerBuilder.build(true, "#", "a#bbbbbbb", "abc#x", "ab#xyz").getMaxInputLength());
+    }
+
+    @Test
+    public void normalizing() {
+        CharNormalizer normalizer = MappingCharNormalizer.createDefault();
+
+        CharTransducerBuilder builder = new CharTransducerBuilder(false);
+        builder.add(normalizer.normalize("Stra\u00DFe"), "Str.");
+        builder.add(normalizer.normalize("Pl\u00E4tze"), "Pl.");
+        builder.add(normalizer.normalize("Pl\u00E4tze der Stadt"), "Stadtpl.");
+        Transducer transducer = builder.build().normalizing(normalizer);
+
+        String sequence = "Pla\u0308tze der Stadt und Stra\u00AD\u00DFen an Pl\u00E4tzen";
+        assertEquals(
+            Arrays.asList("Stadtpl. [0, 17]"),
+            transducer.getAllTokens(sequence).stream().map(Token::toString).collect(Collectors.toList()));
+        assertEquals(
+            Arrays.asList("Pl. [0, 7]", "Stadtpl. [0, 17]", "Str. [22, 29]", "Pl. [34, 40]"),
+            transducer.getAllOccurrences(sequence).stream().map(Token::toString).collect(Collectors.toList()));
+
+        assertEquals("Str.", transducer.transduce("STRA\u00DFE", null));
+        assertEquals("Str.", transducer.transduce("Stra\u00DFe"));
+        assertNull(transducer.transduce("Stra\u00DF", null));
+        assertEquals("Pl.", transducer.getLongestMatch("Pl\u00E4tze in").getValue());
+
+        // skipped chars make the length of a match unbounded
+        try {
+            StreamingMatcher.occurrences(transducer);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            ParallelMatcher.tokens(transducer);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void overlapPolicies() {
+        Transducer transducer = CharTransducerBuilder.build(false, "#", "New#1", "New York#2", "York City#3", "City#1");
+        String sequence = "New York City";
+
+        OverlapPolicy priority = OverlapPolicy.priority(
+            (start, end, nodeIndex) -> Integer.parseInt(transducer.getOutput(nodeIndex).toString()));
+        assertEquals(
+            Arrays.asList("2", "1"),
+            transducer.getOccurrences(sequence, priority).stream().map(Token::getValue).collect(Collectors.toList()));
+
+        assertEquals(
+            Arrays.asList("New York", "City"),
+            transducer.getTokens(sequence, OverlapPolicy.leftmostLongest())
+                .stream()
+                .map(Token::getOriginal)
+                .collect(Collectors.toList()));
+    }
+
     @Test
     public void random() {
         List<String> inputs = new ArrayList<>(generateRandomStrings(STRING_COUNT));
@@ -248,6 +446,40 @@ public class CharTransducerTest {
         }
     }
 
+    @Test
+    public void startFilter() {
+        for (int i = 0; i < 50; i++) {
+            CharTransducerBuilder builder = new CharTransducerBuilder(i % 2 == 0);
+            for (int j = 0; j < 30; j++) {
+                builder.add(RandomStringUtils.random(RandomUtils.nextInt(1, 5), "abcdAB\u00E4\u00C4-"), String.valueOf(j));
+            }
+            Transducer transducer = builder.build();
+
+            for (int j = 0; j < 20; j++) {
+                String sequence = RandomStringUtils.random(RandomUtils.nextInt(0, 200), "abcdefABC\u00E4\u00C4- ");
+
+                // every position without the filter
+                TokenList expected = new TokenList();
+                for (int k = 0; k < sequence.length(); k++) {
+                    transducer.forEachMatch(sequence, k, sequence.length() - k, expected);
+                }
+                TokenList actual = transducer.getAllOccurrences(sequence, 0, sequence.length(), new TokenList());
+                assertEquals(expected.toString(), actual.toString());
+
+                TokenList expectedSelected = new TokenList();
+                MatchSelection selection = OverlapPolicy.leftmostLongest().createSelection(expectedSelected);
+                for (int k = 0; k < expected.size(); k++) {
+                    selection.accept(expected.getStart(k), expected.getEnd(k), expected.getNodeIndex(k));
+                }
+                selection.complete();
+
+                TokenList selected = new TokenList();
+                transducer.forEachOccurrence(sequence, 0, sequence.length(), OverlapPolicy.leftmostLongest(), selected);
+                assertEquals(expectedSelected.toString(), selected.toString());
+            }
+        }
+    }
+
     @Test
     public void test3() {
         TransducerBuilder builder = new CharTransducerBuilder(true);
@@ -275,6 +507,43 @@ public class CharTransducerTest {
         assertTrue(tokens.stream().map(Token::getValue).allMatch(value -> value.equals("A")));
     }
 
+    @Test
+    public void tokenList() {
+        Transducer transducer = CharTransducerBuilder.build(false, "#", "Auto#car", "Bahn#train", "Autobahn#highway");
+        TokenList tokenList = new TokenList();
+
+        String sequence = "Autobahn";
+        transducer.getAllMatches(sequence, 0, sequence.length(), tokenList);
+        assertEquals(2, tokenList.size());
+        assertEquals("car", transducer.getOutput(tokenList.getNodeIndex(0)));
+        assertEquals("highway", transducer.getOutput(tokenList.getNodeIndex(1)));
+
+        tokenList.clear();
+        transducer.getAllOccurrences(sequence, 0, sequence.length(), tokenList);
+        assertEquals(
+            Arrays.asList("car", "highway", "train"),
+            tokenList.toTokens(sequence, transducer).stream().map(Token::getValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void topCompletions() {
+        CharTransducerBuilder builder = new CharTransducerBuilder(false);
+        builder.add("Haus", "house", 10);
+        builder.add("Hausbau", "construction", 50);
+        builder.add("Haustür", "front door", 40);
+        builder.add("Maus", "mouse", 100);
+        CharTransducer transducer = builder.build();
+
+        List<Token> completions = transducer.getTopCompletions("haus", 2);
+        assertEquals(2, completions.size());
+        assertEquals("hausbau", completions.get(0).getOriginal());
+        assertEquals("construction", completions.get(0).getValue());
+        assertEquals("front door", completions.get(1).getValue());
+
+        assertEquals("mouse", transducer.getTopCompletions("", 1).get(0).getValue());
+        assertEquals("PKW", CharTransducerBuilder.build(false, "#", "Auto#PKW").getTopCompletions("Au", 1).get(0).getValue());
+    }
+
     @Test
     public void transduce() {
         Transducer transducer = CharTransducerBuilder.build(false, "#", "Auto#PKW");
@@ -282,4 +551,26 @@ public class CharTransducerTest {
         assertEquals("Autobahn", transducer.transduce("Autobahn"));
         assertEquals("PKW", transducer.transduce("Auto"));
     }
+
+    @Test
+    public void transduceAll() {
+        CharTransducerBuilder builder = new CharTransducerBuilder(false);
+        for (int i = 0; i < 500; i++) {
+            String input = RandomStringUtils.random(RandomUtils.nextInt(1, 8), "abcAB");
+            builder.add(input, input.toUpperCase(Locale.ROOT) + i);
+        }
+        CharTransducer transducer = builder.build();
+
+        CharSequence[] candidates = new CharSequence[5_000];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = RandomStringUtils.random(RandomUtils.nextInt(1, 10), "abcAB");
+        }
+
+        CharSequence[] result = new CharSequence[candidates.length];
+        transducer.transduceAll(candidates, result);
+
+        for (int i = 0; i < candidates.length; i++) {
+            assertEquals(transducer.transduce(candidates[i], 0, candidates[i].length()), result[i]);
+        }
+    }
 }
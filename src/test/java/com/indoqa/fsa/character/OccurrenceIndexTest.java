@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Test;
+
+import com.indoqa.fsa.Token;
+
+public class OccurrenceIndexTest {
+
+    private static final int STRING_COUNT = 1_000;
+    private static final int TEXT_LENGTH = 10_000;
+
+    private static String toString(List<Token> tokens) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (Token eachToken : tokens) {
+            stringBuilder.append(eachToken).append('\n');
+        }
+
+        return stringBuilder.toString();
+    }
+
+    private static void verify(boolean caseSensitive) {
+        Set<String> inputs = new HashSet<>();
+        while (inputs.size() < STRING_COUNT) {
+            inputs.add(RandomStringUtils.random(RandomUtils.nextInt(1, 6), "abcdAB"));
+        }
+
+        CharAcceptor acceptor = CharAcceptorBuilder.build(caseSensitive, inputs);
+        OccurrenceIndex occurrenceIndex = acceptor.createOccurrenceIndex();
+
+        String text = RandomStringUtils.random(TEXT_LENGTH, "abcdABe ");
+        assertEquals(toString(acceptor.getAllOccurrences(text)), toString(occurrenceIndex.getAllOccurrences(text)));
+        assertEquals(toString(acceptor.getLongestOccurrences(text)), toString(occurrenceIndex.getLongestOccurrences(text)));
+
+        int start = RandomUtils.nextInt(0, TEXT_LENGTH / 2);
+        int length = RandomUtils.nextInt(0, TEXT_LENGTH / 2);
+        assertEquals(
+            toString(acceptor.getAllOccurrences(text, start, length)),
+            toString(occurrenceIndex.getAllOccurrences(text, start, length)));
+    }
+
+    @Test
+    public void empty() {
+        OccurrenceIndex occurrenceIndex = CharAcceptorBuilder.empty().createOccurrenceIndex();
+
+        assertTrue(occurrenceIndex.getAllOccurrences("abc").isEmpty());
+    }
+
+    @Test
+    public void getOccurrences() {
+        CharAcceptorBuilder builder = new CharAcceptorBuilder(false);
+        builder.addAcceptedInput("ar ei");
+        builder.addAcceptedInput("lang");
+        builder.addAcceptedInput("Person");
+        builder.addAcceptedInput("langsam");
+        builder.addAcceptedInput("langsam fahrender");
+        builder.addAcceptedInput("fahrender Personenkraftwagen");
+        builder.addAcceptedInput("Personenkraftwagen mit Anhängerkupplung");
+        OccurrenceIndex occurrenceIndex = builder.build().createOccurrenceIndex();
+        String sequence = "Da war ein langsam fahrender Personenkraftwagen mit Anhängerkupplung.";
+
+        assertArrayEquals(
+            new String[] {
+                "ar ei",
+                "lang",
+                "langsam",
+                "langsam fahrender",
+                "fahrender Personenkraftwagen",
+                "Person",
+                "Personenkraftwagen mit Anhängerkupplung"},
+            occurrenceIndex.getAllOccurrences(sequence).stream().map(Token::getValue).toArray(String[]::new));
+
+        assertArrayEquals(
+            new String[] {"ar ei", "langsam fahrender", "Personenkraftwagen mit Anhängerkupplung"},
+            occurrenceIndex.getLongestOccurrences(sequence).stream().map(Token::getValue).toArray(String[]::new));
+    }
+
+    @Test
+    public void randomCaseInsensitive() {
+        verify(false);
+    }
+
+    @Test
+    public void randomCaseSensitive() {
+        verify(true);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.character;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Test;
+
+import com.indoqa.fsa.Acceptor;
+import com.indoqa.fsa.Token;
+
+public class ProductAcceptorTest {
+
+    private static final int STRING_COUNT = 2_000;
+
+    private static Set<String> generateInputs() {
+        Set<String> result = new HashSet<>();
+
+        while (result.size() < STRING_COUNT) {
+            result.add(RandomStringUtils.random(RandomUtils.nextInt(1, 7), "abcd"));
+        }
+
+        return result;
+    }
+
+    private static List<String> getInputs(Iterator<String> iterator) {
+        List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    private static void verify(Set<String> expected, Set<String> candidates, ProductAcceptor productAcceptor) {
+        for (String eachCandidate : candidates) {
+            assertEquals(eachCandidate, expected.contains(eachCandidate), productAcceptor.accepts(eachCandidate));
+        }
+
+        assertEquals(new ArrayList<>(new TreeSet<>(expected)), getInputs(productAcceptor.toCharAcceptor().iterator()));
+    }
+
+    private static void verify(List<String> candidates, ProductAcceptor productAcceptor) {
+        CharAcceptor materialized = productAcceptor.toCharAcceptor();
+
+        for (String eachCandidate : candidates) {
+            assertEquals(eachCandidate, productAcceptor.accepts(eachCandidate), materialized.accepts(eachCandidate));
+        }
+    }
+
+    @Test
+    public void blocklist() {
+        CharAcceptor places = CharAcceptorBuilder.build(false, "Wien", "Wiener Neustadt", "Linz", "Graz");
+        CharAcceptor blocklist = CharAcceptorBuilder.build(true, "Wien", "Linz an der Donau");
+        Acceptor acceptor = Acceptors.difference(places, blocklist);
+        String sequence = "Von Wien über Wiener Neustadt nach Graz, nicht nach wien oder Linz.";
+
+        assertArrayEquals(
+            new String[] {"Wiener Neustadt", "Graz", "wien", "Linz"},
+            acceptor.getAllTokens(sequence).stream().map(Token::getOriginal).toArray(String[]::new));
+        assertEquals("Wiener Neustadt", acceptor.getLongestMatch("Wiener Neustadt"));
+        assertNull(acceptor.getLongestMatch("Wiener"));
+
+        Acceptor intersection = Acceptors.intersection(places, blocklist);
+        assertArrayEquals(
+            new String[] {"Wien"},
+            intersection.getAllTokens(sequence).stream().map(Token::getOriginal).toArray(String[]::new));
+        assertEquals(15, intersection.getMaxInputLength());
+    }
+
+    @Test
+    public void mixedCaseSensitivity() {
+        CharAcceptor caseSensitive = CharAcceptorBuilder.build(true, "Haus", "Hof");
+        CharAcceptor caseInsensitive = CharAcceptorBuilder.build(false, "haus", "garten");
+        List<String> candidates = Arrays.asList("Haus", "haus", "HAUS", "Hof", "hof", "garten", "Garten");
+
+        verify(candidates, Acceptors.intersection(caseSensitive, caseInsensitive));
+        verify(candidates, Acceptors.difference(caseSensitive, caseInsensitive));
+
+        try {
+            Acceptors.intersection(caseInsensitive, caseSensitive).toCharAcceptor();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        try {
+            Acceptors.difference(caseInsensitive, caseSensitive).toCharAcceptor();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void random() {
+        Set<String> first = generateInputs();
+        Set<String> second = generateInputs();
+
+        Set<String> candidates = new HashSet<>(first);
+        candidates.addAll(second);
+
+        CharAcceptor firstAcceptor = CharAcceptorBuilder.build(true, first);
+        CharAcceptor secondAcceptor = CharAcceptorBuilder.build(true, second);
+
+        Set<String> intersection = new HashSet<>(first);
+        intersection.retainAll(second);
+        verify(intersection, candidates, Acceptors.intersection(firstAcceptor, secondAcceptor));
+
+        Set<String> difference = new HashSet<>(first);
+        difference.removeAll(second);
+        verify(difference, candidates, Acceptors.difference(firstAcceptor, secondAcceptor));
+
+        String sequence = RandomStringUtils.random(1_000, "abcd ");
+        List<String> expected = firstAcceptor
+            .getAllOccurrences(sequence)
+            .stream()
+            .filter(token -> !secondAcceptor.accepts(token.getOriginal()))
+            .map(Token::toString)
+            .collect(toList());
+        List<String> actual = Acceptors
+            .difference(firstAcceptor, secondAcceptor)
+            .getAllOccurrences(sequence)
+            .stream()
+            .map(Token::toString)
+            .collect(toList());
+        assertEquals(expected, actual);
+    }
+}
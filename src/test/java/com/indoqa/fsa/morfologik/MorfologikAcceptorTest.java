@@ -18,15 +18,25 @@ package com.indoqa.fsa.morfologik;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
 import org.junit.Test;
 
 import com.indoqa.fsa.Acceptor;
 import com.indoqa.fsa.AcceptorBuilder;
+import com.indoqa.fsa.BoundaryDetector;
+import com.indoqa.fsa.BuildEstimate;
+import com.indoqa.fsa.Matcher;
+import com.indoqa.fsa.OverlapPolicy;
 import com.indoqa.fsa.TestUtils;
 import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenBoundaries;
+import com.indoqa.fsa.WordBoundaryDetector;
 
 public class MorfologikAcceptorTest {
 
@@ -36,6 +46,20 @@ public class MorfologikAcceptorTest {
         return tokens.stream().map(Token::getValue).toArray(String[]::new);
     }
 
+    @Test
+    public void estimate() throws IOException {
+        Set<String> inputs = TestUtils.generateRandomStrings(STRING_COUNT);
+        MorfologikAcceptorBuilder builder = new MorfologikAcceptorBuilder(true);
+        builder.addAcceptedInput(inputs);
+
+        BuildEstimate estimate = builder.estimate();
+        assertEquals(STRING_COUNT, estimate.getInputCount());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        builder.write(outputStream);
+        assertTrue("File size must not exceed the estimate.", outputStream.size() <= estimate.getFileSize());
+    }
+
     @Test
     public void getMatch() {
         MorfologikAcceptorBuilder builder = new MorfologikAcceptorBuilder(true);
@@ -111,6 +135,54 @@ public class MorfologikAcceptorTest {
             getValues(acceptor.getLongestTokens(sequence)));
     }
 
+    @Test
+    public void matcher() {
+        for (boolean caseSensitive : new boolean[] {true, false}) {
+            MorfologikAcceptorBuilder builder = new MorfologikAcceptorBuilder(caseSensitive);
+            builder.addAcceptedInput("ab", "a\u00E4", "\u00E4b", "\uD83D\uDE97", "\u00DF", "b a", "\u03C3a");
+            MorfologikAcceptor acceptor = builder.build();
+
+            Matcher occurrences = acceptor.createOccurrenceMatcher(OverlapPolicy.allOverlapping());
+            Matcher tokens = acceptor.createTokenMatcher(OverlapPolicy.leftmostLongest());
+
+            for (int i = 0; i < 200; i++) {
+                String sequence = RandomStringUtils.random(
+                    RandomUtils.nextInt(0, 30),
+                    "aAbB \u00E4\u00C4\u00DF\u03A3\u03C3\uD83D\uDE97");
+
+                assertEquals(acceptor.getAllOccurrences(sequence).toString(), occurrences.reset(sequence).getTokens().toString());
+                assertEquals(
+                    acceptor.getTokens(sequence, OverlapPolicy.leftmostLongest()).toString(),
+                    tokens.reset(sequence).getTokens().toString());
+            }
+        }
+    }
+
+    @Test
+    public void overlapPolicies() {
+        Acceptor acceptor = MorfologikAcceptorBuilder.build(false, "lang", "langsam", "sam fahr", "fahrender");
+        String sequence = "Ein langsam fahrender Zug";
+
+        assertArrayEquals(
+            new String[] {"lang", "langsam", "sam fahr", "fahrender"},
+            getValues(acceptor.getOccurrences(sequence, OverlapPolicy.allOverlapping())));
+        assertArrayEquals(
+            new String[] {"langsam", "fahrender"},
+            getValues(acceptor.getOccurrences(sequence, OverlapPolicy.leftmostLongest())));
+        assertArrayEquals(
+            new String[] {"lang", "sam fahr"},
+            getValues(acceptor.getOccurrences(sequence, OverlapPolicy.leftmostFirst())));
+        assertArrayEquals(
+            new String[] {"lang", "sam fahr"},
+            getValues(acceptor.getOccurrences(sequence, OverlapPolicy.priority((start, end, nodeIndex) -> start - end))));
+        assertArrayEquals(
+            new String[] {"langsam", "fahrender"},
+            getValues(acceptor.getTokens(sequence, OverlapPolicy.leftmostLongest())));
+        assertArrayEquals(
+            new String[] {"fahrender"},
+            getValues(acceptor.getTokens(sequence, 8, 17, OverlapPolicy.leftmostFirst())));
+    }
+
     @Test
     public void random() {
         Set<String> inputs = TestUtils.generateRandomStrings(STRING_COUNT);
@@ -142,4 +214,29 @@ public class MorfologikAcceptorTest {
 
         assertTrue(charAcceptor.accepts("s"));
     }
+
+    @Test
+    public void tokenBoundaries() {
+        Acceptor acceptor = MorfologikAcceptorBuilder.build(false, "e-mail", "mail", "a", "r", "ü");
+        String sequence = "Eine e-mail für a und ü";
+
+        assertArrayEquals(
+            new String[] {"e-mail", "mail", "a", "ü"},
+            getValues(acceptor.getTokens(sequence, OverlapPolicy.allOverlapping())));
+
+        BoundaryDetector hyphenatedWords = new WordBoundaryDetector() {
+
+            @Override
+            protected boolean isWordPart(CharSequence charSequence, int index) {
+                return charSequence.charAt(index) == '-' || super.isWordPart(charSequence, index);
+            }
+        };
+        TokenBoundaries boundaries = TokenBoundaries.create(sequence, 0, sequence.length(), hyphenatedWords);
+        assertArrayEquals(
+            new String[] {"e-mail", "a", "ü"},
+            getValues(acceptor.getTokens(sequence, boundaries, OverlapPolicy.allOverlapping())));
+
+        boundaries.analyze(sequence, 7, 10, hyphenatedWords);
+        assertArrayEquals(new String[] {"a"}, getValues(acceptor.getTokens(sequence, boundaries, OverlapPolicy.allOverlapping())));
+    }
 }
@@ -20,10 +20,13 @@ import static com.indoqa.fsa.TestUtils.generateRandomStrings;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
 
+import com.indoqa.fsa.Matcher;
+import com.indoqa.fsa.OverlapPolicy;
 import com.indoqa.fsa.Token;
 import com.indoqa.fsa.Transducer;
 import com.indoqa.fsa.TransducerBuilder;
@@ -39,6 +42,28 @@ public class MorfologikTransducerTest {
         assertEquals("Nacht|eil|zug", transducer.transduce("Nachteilzug"));
     }
 
+    @Test
+    public void forEachOccurrence() {
+        TransducerBuilder builder = new MorfologikTransducerBuilder('|', false);
+        builder.add("Straße", "street");
+        builder.add("ße", "sse");
+        builder.add("🚗", "car");
+        Transducer transducer = builder.build();
+
+        String sequence = "Ein 🚗 auf der STRASSE oder Straße";
+        List<String> matches = new ArrayList<>();
+        transducer.forEachOccurrence(sequence, 0, sequence.length(), (start, end, nodeIndex) -> {
+            matches.add(sequence.substring(start, end) + "=" + transducer.getOutput(nodeIndex));
+        });
+        assertEquals(Arrays.asList("🚗=car", "Straße=street", "ße=sse"), matches);
+
+        matches.clear();
+        transducer.forEachMatch(sequence, 28, 6, (start, end, nodeIndex) -> {
+            matches.add(start + "-" + end + "=" + transducer.getOutput(nodeIndex));
+        });
+        assertEquals(Arrays.asList("28-34=street"), matches);
+    }
+
     @Test
     public void getAll1() {
         TransducerBuilder builder = new MorfologikTransducerBuilder('|', true);
@@ -66,6 +91,34 @@ public class MorfologikTransducerTest {
         assertEquals(3, transducer.getAllOccurrences(sequence).size());
     }
 
+    @Test
+    public void matcher() {
+        TransducerBuilder builder = new MorfologikTransducerBuilder('|', false);
+        builder.add("Stra\u00DFe", "street");
+        builder.add("\u00DFe", "sse");
+        builder.add("\uD83D\uDE97", "car");
+        Transducer transducer = builder.build();
+
+        Matcher matcher = transducer.createOccurrenceMatcher(OverlapPolicy.allOverlapping());
+        matcher.reset("Ein \uD83D\uDE97 auf der STRASSE oder Stra\u00DFe");
+        List<String> matches = new ArrayList<>();
+        while (matcher.find()) {
+            matches.add(matcher.getStart() + "-" + matcher.getEnd() + "=" + matcher.getValue());
+        }
+        assertEquals(Arrays.asList("4-6=car", "28-34=street", "32-34=sse"), matches);
+
+        Matcher tokens = transducer.createTokenMatcher(OverlapPolicy.allOverlapping());
+        assertEquals("[street [6, 12]]", tokens.reset("Keine Stra\u00DFe").getTokens().toString());
+        assertEquals("[car [0, 2], street [3, 9]]", tokens.reset("\uD83D\uDE97 STRA\u00DFE").getTokens().toString());
+    }
+
+    @Test
+    public void maxInputLength() {
+        Transducer transducer = MorfologikTransducerBuilder.build(true, "#", "a#bbbbbbb", "abc#x", "äb#xyz");
+
+        assertEquals(3, transducer.getMaxInputLength());
+    }
+
     @Test
     public void test() {
         List<String> inputs = new ArrayList<>(generateRandomStrings(STRING_COUNT));
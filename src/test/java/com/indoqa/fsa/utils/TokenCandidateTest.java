@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Indoqa Software Design und Beratung GmbH (Indoqa) under
+ * one or more contributor license agreements. See the NOTICE file distributed
+ * with this work for additional information regarding copyright ownership.
+ * Indoqa licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.indoqa.fsa.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Test;
+
+import com.indoqa.fsa.Token;
+import com.indoqa.fsa.TokenList;
+import com.indoqa.fsa.character.CharAcceptor;
+import com.indoqa.fsa.character.CharAcceptorBuilder;
+
+public class TokenCandidateTest {
+
+    private static final int CYCLES = 1_000;
+
+    private static int getCoverage(List<Token> tokens) {
+        return tokens.stream().mapToInt(Token::getLength).sum();
+    }
+
+    private static List<Token> getRandomTokens(int count, int range) {
+        List<Token> result = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            int start = RandomUtils.nextInt(0, range);
+            int end = start + RandomUtils.nextInt(1, 8);
+            result.add(Token.create(start, RandomStringUtils.randomAlphabetic(end - start)));
+        }
+
+        result.sort(Comparator.comparingInt(Token::getStart));
+        return result;
+    }
+
+    private static boolean isDisjunct(List<Token> tokens) {
+        for (int i = 0; i < tokens.size(); i++) {
+            for (int j = i + 1; j < tokens.size(); j++) {
+                if (!tokens.get(i).isDisjunct(tokens.get(j))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The straightforward definition: select tokens by descending priority unless they overlap an already selected one.
+     */
+    private static List<Token> referenceEliminateOverlapping(List<Token> tokens) {
+        Integer[] order = new Integer[tokens.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingInt((Integer index) -> tokens.get(index).getLength()).thenComparingInt(index -> index));
+
+        boolean[] selected = new boolean[tokens.size()];
+        List<Token> selectedTokens = new ArrayList<>();
+        for (int i = order.length - 1; i >= 0; i--) {
+            Token token = tokens.get(order[i]);
+            if (selectedTokens.stream().allMatch(token::isDisjunct)) {
+                selectedTokens.add(token);
+                selected[order[i]] = true;
+            }
+        }
+
+        List<Token> result = new ArrayList<>();
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i]) {
+                result.add(tokens.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static int referenceMaximizeCoverage(List<Token> tokens) {
+        int result = 0;
+
+        for (int subset = 0; subset < 1 << tokens.size(); subset++) {
+            List<Token> selected = new ArrayList<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                if ((subset & 1 << i) != 0) {
+                    selected.add(tokens.get(i));
+                }
+            }
+
+            if (isDisjunct(selected)) {
+                result = Math.max(result, getCoverage(selected));
+            }
+        }
+
+        return result;
+    }
+
+    @Test(timeout = 10_000)
+    public void denseOverlapping() {
+        String[] inputs = new String[20];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = "C" + String.join("", Collections.nCopies(i, "H2C"));
+        }
+        CharAcceptor acceptor = CharAcceptorBuilder.build(true, inputs);
+
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            sequence.append("CH2");
+        }
+
+        TokenList occurrences = acceptor.getAllOccurrences(sequence, 0, sequence.length(), new TokenList());
+        assertTrue(occurrences.size() > 300_000);
+
+        TokenList longest = TokenCandidate.eliminateOverlapping(occurrences, new TokenList());
+        for (int i = 1; i < longest.size(); i++) {
+            assertTrue(longest.getEnd(i - 1) <= longest.getStart(i));
+        }
+        assertEquals(inputs[inputs.length - 1].length(), longest.getLength(longest.size() - 1));
+
+        TokenList coverage = TokenCandidate.maximizeCoverage(occurrences, new TokenList());
+        for (int i = 1; i < coverage.size(); i++) {
+            assertTrue(coverage.getEnd(i - 1) <= coverage.getStart(i));
+        }
+    }
+
+    @Test
+    public void eliminateOverlapping() {
+        List<Token> tokens = Arrays.asList(Token.create(0, "ab"), Token.create(1, "bc"), Token.create(2, "c"), Token.create(3, "def"));
+
+        assertEquals(Arrays.asList(tokens.get(1), tokens.get(3)), TokenCandidate.eliminateOverlapping(tokens));
+        assertTrue(TokenCandidate.eliminateOverlapping(new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    public void maximizeCoverage() {
+        List<Token> tokens = Arrays.asList(Token.create(0, "ab"), Token.create(1, "bcde"), Token.create(3, "def"));
+
+        assertEquals(Arrays.asList(tokens.get(1)), TokenCandidate.eliminateOverlapping(tokens));
+        assertEquals(Arrays.asList(tokens.get(0), tokens.get(2)), TokenCandidate.maximizeCoverage(tokens));
+    }
+
+    @Test
+    public void randomEliminateOverlapping() {
+        for (int i = 0; i < CYCLES; i++) {
+            List<Token> tokens = getRandomTokens(RandomUtils.nextInt(0, 50), 100);
+
+            List<Token> result = TokenCandidate.eliminateOverlapping(tokens);
+            assertEquals(referenceEliminateOverlapping(tokens), result);
+        }
+    }
+
+    @Test
+    public void randomMaximizeCoverage() {
+        for (int i = 0; i < CYCLES; i++) {
+            List<Token> tokens = getRandomTokens(RandomUtils.nextInt(0, 12), 30);
+
+            List<Token> result = TokenCandidate.maximizeCoverage(tokens);
+            assertTrue(isDisjunct(result));
+            assertEquals(referenceMaximizeCoverage(tokens), getCoverage(result));
+            assertTrue(getCoverage(result) >= getCoverage(TokenCandidate.eliminateOverlapping(tokens)));
+        }
+    }
+}